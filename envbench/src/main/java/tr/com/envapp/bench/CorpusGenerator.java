@@ -0,0 +1,128 @@
+package tr.com.envapp.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark'lar için sentetik proje ağacı üretir.
+ *
+ * Ağaç, EntitySearchService'in beklediği yapıdadır: kök dizin altında "svc-api-N" ve "svc-web-N"
+ * proje klasörleri (klasör pattern'i için), her birinde src/main/java/tr/com/bench altında
+ * "entity", "dto" ve "service" paketleri (üst klasör filtresi için). Satırlar rastgele
+ * tanımlayıcılardan oluşur; hitDensity oranındaki satırlara TERM eklenir. Eklenen terimlerin
+ * yarısı tam kelime, dörtte biri başka bir tanımlayıcının parçası (whole-word aramasının elediği),
+ * dörtte biri farklı büyük/küçük harfle (yalnızca case-insensitive aramanın bulduğu) yazılır.
+ * Aynı parametrelerle her zaman aynı ağaç üretilir.
+ */
+public final class CorpusGenerator {
+
+    public static final String TERM = "CustomerEntity";
+
+    static final String[] PACKAGES = {"entity", "dto", "service"};
+
+    private static final int FILES_PER_PROJECT = 50;
+    private static final int LINES_PER_FILE = 200;
+
+    private static final String[] WORDS = {
+        "private", "final", "return", "String", "List", "Map", "value", "name", "result", "order",
+        "account", "status", "id", "this", "new", "null", "if", "for", "int", "long", "boolean",
+        "repository", "service", "config", "builder", "stream", "filter", "collect", "amount", "date"
+    };
+
+    private final int fileCount;
+    private final int lineLength;
+    private final double hitDensity;
+
+    /**
+     * @param fileCount Üretilecek .java dosyası sayısı
+     * @param lineLength Satırların yaklaşık uzunluğu (karakter)
+     * @param hitDensity Terim içeren satırların oranı (0-1)
+     */
+    public CorpusGenerator(int fileCount, int lineLength, double hitDensity) {
+        if (fileCount < 1 || lineLength < 1 || hitDensity < 0 || hitDensity > 1) {
+            throw new IllegalArgumentException("Gecersiz corpus parametreleri: fileCount=" + fileCount
+                + ", lineLength=" + lineLength + ", hitDensity=" + hitDensity);
+        }
+        this.fileCount = fileCount;
+        this.lineLength = lineLength;
+        this.hitDensity = hitDensity;
+    }
+
+    /**
+     * Ağacı verilen dizinin altına yazar
+     * @return Arama yapılacak kök dizin
+     */
+    public Path generate(Path root) throws IOException {
+        Random random = new Random(42);
+        StringBuilder line = new StringBuilder(lineLength + 32);
+        for (int file = 0; file < fileCount; file++) {
+            int project = file / FILES_PER_PROJECT;
+            String projectName = (project % 2 == 0 ? "svc-api-" : "svc-web-") + project;
+            String packageName = PACKAGES[file % PACKAGES.length];
+            Path dir = root.resolve(projectName).resolve("src/main/java/tr/com/bench").resolve(packageName);
+            Files.createDirectories(dir);
+
+            try (BufferedWriter out = Files.newBufferedWriter(dir.resolve("Type" + file + ".java"), StandardCharsets.UTF_8)) {
+                for (int i = 0; i < LINES_PER_FILE; i++) {
+                    line.setLength(0);
+                    line.append("        ");
+                    if (random.nextDouble() < hitDensity) {
+                        appendHit(line, random);
+                    }
+                    while (line.length() < lineLength) {
+                        line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                    }
+                    out.append(line).append('\n');
+                }
+            }
+        }
+        return root;
+    }
+
+    private static void appendHit(StringBuilder line, Random random) {
+        int kind = random.nextInt(4);
+        if (kind < 2) {
+            line.append(TERM).append(' ');
+        } else if (kind == 2) {
+            line.append("Base").append(TERM).append("Dto ");
+        } else {
+            line.append(TERM.toLowerCase()).append(' ');
+        }
+    }
+
+    /**
+     * Dizini ve altındaki her şeyi siler
+     */
+    public static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Kullanım: CorpusGenerator &lt;dizin&gt; [fileCount] [lineLength] [hitDensity]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Kullanim: CorpusGenerator <dizin> [fileCount] [lineLength] [hitDensity]");
+            System.exit(2);
+        }
+        int fileCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int lineLength = args.length > 2 ? Integer.parseInt(args[2]) : 120;
+        double hitDensity = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        Path root = new CorpusGenerator(fileCount, lineLength, hitDensity).generate(Paths.get(args[0]));
+        System.out.println(fileCount + " dosya uretildi: " + root.toAbsolutePath());
+    }
+}
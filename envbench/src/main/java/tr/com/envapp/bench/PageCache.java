@@ -0,0 +1,47 @@
+package tr.com.envapp.bench;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * İşletim sisteminin sayfa önbelleğini (page cache) boşaltır; soğuk okuma ölçümleri için.
+ *
+ * Varsayılan komut Linux'ta "sync; echo 1 > /proc/sys/vm/drop_caches" (root gerekir),
+ * macOS'ta "sync; purge" olur. Başka bir komut envbench.dropCachesCommand sistem özelliğiyle
+ * verilebilir (ör. yalnızca corpus için "vmtouch -e /tmp/corpus").
+ */
+final class PageCache {
+
+    static final String COMMAND_PROPERTY = "envbench.dropCachesCommand";
+
+    private PageCache() {
+    }
+
+    static void drop() {
+        String command = System.getProperty(COMMAND_PROPERTY);
+        if (command == null) {
+            String os = System.getProperty("os.name").toLowerCase();
+            if (os.contains("linux")) {
+                command = "sync; echo 1 > /proc/sys/vm/drop_caches";
+            } else if (os.contains("mac")) {
+                command = "sync; purge";
+            } else {
+                throw new IllegalStateException("Bu isletim sisteminde sayfa onbellegi bosaltilamiyor; -D"
+                    + COMMAND_PROPERTY + "=<komut> ile bir komut verin");
+            }
+        }
+        try {
+            Process process = new ProcessBuilder(List.of("sh", "-c", command)).inheritIO().start();
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException("Sayfa onbellegi bosaltilamadi (cikis kodu " + exitCode
+                    + "): " + command + " - root olarak calistirin veya -D" + COMMAND_PROPERTY + " verin");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Sayfa onbellegi bosaltilamadi: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sayfa onbellegi bosaltma kesildi", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package tr.com.envapp.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tr.com.envapp.search.EntitySearchService;
+
+/**
+ * EntitySearchService'in tam arama süresi (dizin taraması + dosya okuma + eşleştirme).
+ *
+ * Her parametre kombinasyonu için CorpusGenerator ile geçici bir ağaç üretilir. Sonuç önbelleği
+ * ve trigram indeksi kapalıdır; her çağrı ağacı baştan tarar.
+ *
+ * Varsayılan cache=warm'dır: dosyalar işletim sisteminin sayfa önbelleğinden okunur. Soğuk
+ * önbellek ölçümü açıkça -p cache=cold ile istenir; bu modda her çağrıdan önce sayfa önbelleği
+ * boşaltılır (bkz. PageCache), böylece dosyalar diskten okunur. Varsayılan boşaltma komutu
+ * root yetkisi ister; root olmayan kullanıcılar -Denvbench.dropCachesCommand ile yetkili bir
+ * komut (ör. "sudo -n /usr/local/bin/drop-caches") vermelidir, aksi halde benchmark hata verir.
+ *
+ * Örnek: java -jar envbench/target/benchmarks.jar SearchBenchmark -p fileCount=10000
+ * Soğuk: sudo java -jar envbench/target/benchmarks.jar SearchBenchmark -p cache=cold
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param("2000")
+    public int fileCount;
+
+    @Param("120")
+    public int lineLength;
+
+    @Param("0.01")
+    public double hitDensity;
+
+    // "cold" yalnızca -p cache=cold ile ve root/-Denvbench.dropCachesCommand ile çalışır
+    @Param("warm")
+    public String cache;
+
+    private Path root;
+    private String basePath;
+    private EntitySearchService caseSensitive;
+    private EntitySearchService caseInsensitive;
+    private EntitySearchService wholeWord;
+
+    @Setup(Level.Trial)
+    public void createCorpus() throws IOException {
+        root = new CorpusGenerator(fileCount, lineLength, hitDensity).generate(Files.createTempDirectory("envbench"));
+        basePath = root.toString();
+        caseSensitive = service(true, false);
+        caseInsensitive = service(false, false);
+        wholeWord = service(true, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void dropPageCache() {
+        if ("cold".equals(cache)) {
+            PageCache.drop();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCorpus() throws IOException {
+        CorpusGenerator.delete(root);
+    }
+
+    private static EntitySearchService service(boolean caseSensitive, boolean wholeWord) {
+        EntitySearchService service = new EntitySearchService(caseSensitive, false);
+        service.setWholeWord(wholeWord);
+        service.setUseResultCache(false);
+        return service;
+    }
+
+    /**
+     * Büyük/küçük harf duyarlı düz metin araması
+     */
+    @Benchmark
+    public int substring() {
+        return caseSensitive.search(basePath, CorpusGenerator.TERM).size();
+    }
+
+    @Benchmark
+    public int caseInsensitive() {
+        return caseInsensitive.search(basePath, CorpusGenerator.TERM).size();
+    }
+
+    @Benchmark
+    public int wholeWord() {
+        return wholeWord.search(basePath, CorpusGenerator.TERM).size();
+    }
+
+    /**
+     * Projelerin yarısı (svc-api-*) ve her projede yalnızca entity paketi taranır
+     */
+    @Benchmark
+    public int folderPattern() {
+        return caseSensitive.search(basePath, CorpusGenerator.TERM, "svc-api-*", "entity").size();
+    }
+}
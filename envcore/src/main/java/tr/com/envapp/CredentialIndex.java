@@ -0,0 +1,199 @@
+package tr.com.envapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import tr.com.envapp.EnvCredentialApp.Credential;
+
+/**
+ * Tüm ortamlardaki kayıtların key, URL ve username alanları üzerinde n-gram ters indeksi.
+ *
+ * Her kayda artan bir id verilir; her trigram için o trigramı içeren kayıt id'leri sıralı bir
+ * int dizisinde tutulur. Bir ve iki karakterlik sorgular için tek karakter ve bigram listeleri
+ * de tutulur, böylece hiçbir sorgu tüm kayıtları taramaz. Arama, sorgudaki n-gram'ların en kısa
+ * listesinden başlayarak kesişimi alır ve adayları normalize edilmiş metin üzerinde doğrular.
+ *
+ * Düzenlenen kayda yeni id verilir, eski id ölü olarak işaretlenir; ölü id'ler canlılardan
+ * fazla olunca indeks yeniden kurulur. Yalnızca FX thread'inde kullanılır.
+ */
+final class CredentialIndex {
+
+  // Ölü kayıt bu sayının altındayken yeniden kurma yapılmaz
+  private static final int REBUILD_MIN_DEAD = 1024;
+
+  private final List<Entry> entries = new ArrayList<>();
+  private final Map<Credential, Entry> byCredential = new IdentityHashMap<>();
+  private final Map<Long, Postings> postings = new HashMap<>();
+  private int dead;
+
+  // İndekslenmiş bir kayıt; silinince/düzenlenince entries içinde null'a çekilir
+  static final class Entry {
+    final int id;
+    final String env;
+    final Credential credential;
+    // key, URL ve username; alanlar arası eşleşme olmasın diye '\n' ile ayrılır
+    final String text;
+
+    private Entry(int id, String env, Credential credential) {
+      this.id = id;
+      this.env = env;
+      this.credential = credential;
+      this.text = credential.getNormalizedKey() + '\n' + KeyFilter.normalize(credential.getUrl()) + '\n'
+          + KeyFilter.normalize(credential.getUsername());
+    }
+  }
+
+  // Bir n-gram'ı içeren kayıt id'leri (artan sırada)
+  private static final class Postings {
+    int[] ids = new int[4];
+    int size;
+
+    void add(int id) {
+      // Aynı kayıtta tekrar eden n-gram bir kez eklenir; id'ler artan sırada geldiği için son elemana bakmak yeter
+      if (size > 0 && ids[size - 1] == id) {
+        return;
+      }
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+  }
+
+  /**
+   * Yüklenen bir ortamın tüm kayıtlarını ekler
+   */
+  void putAll(String env, List<Credential> credentials) {
+    for (Credential credential : credentials) {
+      put(env, credential);
+    }
+  }
+
+  /**
+   * Yeni veya düzenlenen kaydı (yeniden) indeksler
+   */
+  void put(String env, Credential credential) {
+    remove(credential);
+    Entry entry = new Entry(entries.size(), env, credential);
+    entries.add(entry);
+    byCredential.put(credential, entry);
+    String text = entry.text;
+    for (int i = 0; i < text.length(); i++) {
+      for (int n = 1; n <= 3 && i + n <= text.length(); n++) {
+        postings.computeIfAbsent(gram(text, i, n), k -> new Postings()).add(entry.id);
+      }
+    }
+  }
+
+  void remove(Credential credential) {
+    Entry entry = byCredential.remove(credential);
+    if (entry != null) {
+      entries.set(entry.id, null);
+      dead++;
+      rebuildIfNeeded();
+    }
+  }
+
+  /**
+   * Ortamın tüm kayıtlarını çıkarır (ortam yeniden yüklenecekse)
+   */
+  void removeEnv(String env) {
+    for (Entry entry : entries) {
+      if (entry != null && entry.env.equals(env)) {
+        byCredential.remove(entry.credential);
+        entries.set(entry.id, null);
+        dead++;
+      }
+    }
+    rebuildIfNeeded();
+  }
+
+  private void rebuildIfNeeded() {
+    if (dead < REBUILD_MIN_DEAD || dead < entries.size() - dead) {
+      return;
+    }
+    List<Entry> live = new ArrayList<>(entries.size() - dead);
+    for (Entry entry : entries) {
+      if (entry != null) {
+        live.add(entry);
+      }
+    }
+    entries.clear();
+    byCredential.clear();
+    postings.clear();
+    dead = 0;
+    for (Entry entry : live) {
+      put(entry.env, entry.credential);
+    }
+  }
+
+  /**
+   * Boşlukla ayrılmış tüm kelimeleri (büyük/küçük harf duyarsız) key, URL veya username
+   * alanlarından birinde içeren kayıtlar; indeks sırasıyla
+   * @param limit En fazla dönecek sonuç sayısı
+   */
+  List<Entry> search(String query, int limit) {
+    String[] words = KeyFilter.normalize(query).trim().split("\\s+");
+    List<Entry> hits = new ArrayList<>();
+    if (words.length == 0 || words[0].isEmpty()) {
+      return hits;
+    }
+
+    // Uzun kelimeler trigram'larıyla, kısalar tek bir bigram/karakter listesiyle aranır
+    List<Postings> lists = new ArrayList<>();
+    for (String word : words) {
+      int n = Math.min(3, word.length());
+      for (int i = 0; i + n <= word.length(); i++) {
+        Postings list = postings.get(gram(word, i, n));
+        if (list == null) {
+          return hits;
+        }
+        lists.add(list);
+      }
+    }
+
+    lists.sort(Comparator.comparingInt(list -> list.size));
+    Postings smallest = lists.get(0);
+    for (int i = 0; i < smallest.size && hits.size() < limit; i++) {
+      int id = smallest.ids[i];
+      Entry entry = entries.get(id);
+      if (entry == null || !containsAll(lists, id) || !matches(entry, words)) {
+        continue;
+      }
+      hits.add(entry);
+    }
+    return hits;
+  }
+
+  private static boolean containsAll(List<Postings> lists, int id) {
+    for (int i = 1; i < lists.size(); i++) {
+      Postings list = lists.get(i);
+      if (Arrays.binarySearch(list.ids, 0, list.size, id) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(Entry entry, String[] words) {
+    for (String word : words) {
+      if (!entry.text.contains(word)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // n (1-3) karakterlik n-gram'ın anahtarı: karakterler 16'şar bit, uzunluk en üst bitlerde
+  private static long gram(String text, int start, int n) {
+    long key = n;
+    for (int i = start; i < start + n; i++) {
+      key = (key << 16) | text.charAt(i);
+    }
+    return key;
+  }
+}
@@ -0,0 +1,363 @@
+package tr.com.envapp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import tr.com.envapp.EnvCredentialApp.Credential;
+
+/**
+ * Bir ortamın kayıtları: data/&lt;env&gt;.json anlık görüntüsü (snapshot) ve data/&lt;env&gt;.journal
+ * değişiklik günlüğü.
+ *
+ * Her ekleme/düzenleme/silme, dosyanın tamamı yeniden yazılmak yerine günlüğe tek satırlık bir
+ * JSON kaydı olarak eklenir. Tüm dosya işlemleri (okuma, günlüğe yazma, birleştirme) tek bir
+ * arka plan thread'inde sırayla yapılır; çağıran (FX thread'i) hiçbir zaman beklemez.
+ * SAVE_DELAY_MS içinde gelen düzenlemeler birleştirilir (aynı satırın art arda düzenlemeleri tek
+ * kayıt olur) ve tek yazma + tek fsync ile günlüğe eklenir. Günlük, ortamdaki kayıt sayısı kadar
+ * büyüyünce snapshot'a birleştirilir (compaction); snapshot geçici dosyaya yazılıp ATOMIC_MOVE ile
+ * yerine taşınır. Açılışta snapshot okunur ve günlük üzerine uygulanır; yarım kalmış son satır
+ * atlanır.
+ *
+ * Günlük, kayıtların kendi kopyalarını tutar; arka plan thread'i tablonun düzenlediği nesnelere
+ * dokunmaz. Son okunan/yazılan snapshot'ın değişiklik zamanı ve boyutu saklanır; dosya dışarıdan
+ * değiştirilirse isStale() true döner.
+ */
+final class CredentialJournal implements Closeable {
+
+  // Düzenlemelerin tek yazmada birleştirildiği süre
+  private static final long SAVE_DELAY_MS = 250;
+  // Günlük en az bu kadar kayda ulaşmadan birleştirilmez
+  private static final int COMPACT_MIN_RECORDS = 256;
+
+  private static final String PUT = "put";
+  private static final String DELETE = "delete";
+
+  // Tüm günlüklerin dosya işlemleri bu thread'de sırayla çalışır; bir ortamın kapanışı,
+  // sonra açılan ortamın yüklenmesinden önce tamamlanır
+  private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "credential-persistence");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Path snapshotFile;
+  private final Path journalFile;
+  private final ObjectMapper objectMapper;
+  private final Consumer<IOException> errorHandler;
+
+  // Yalnızca EXECUTOR thread'inde kullanılır
+  private final Map<String, Credential> state = new LinkedHashMap<>();
+  private FileChannel channel;
+  private int records;
+
+  // Son okunan/yazılan snapshot'ın öznitelikleri (dosya yoksa null / -1)
+  private volatile FileTime snapshotTime;
+  private volatile long snapshotSize = -1;
+
+  // Henüz yazılmamış düzenlemeler (id -> kaydın kopyası, silinenler için null); this ile korunur
+  private Map<String, Credential> pending = new LinkedHashMap<>();
+  private ScheduledFuture<?> pendingFlush;
+
+  /**
+   * @param errorHandler Arka planda oluşan yazma hataları; EXECUTOR thread'inde çağrılır
+   */
+  CredentialJournal(Path dir, String env, ObjectMapper objectMapper, Consumer<IOException> errorHandler) {
+    this.snapshotFile = dir.resolve(env + ".json");
+    this.journalFile = dir.resolve(env + ".journal");
+    this.objectMapper = objectMapper;
+    this.errorHandler = errorHandler;
+  }
+
+  /**
+   * Kayıtları arka planda yükler ve günlüğü yazmaya açar. Dönen liste, günlüğün tuttuğu
+   * kopyalardan bağımsızdır.
+   */
+  CompletableFuture<List<Credential>> load() {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return copies(loadState());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, EXECUTOR);
+  }
+
+  /**
+   * Snapshot'ı okur ve günlüğü üzerine uygular. Günlükte kayıt varsa (önceki oturum
+   * birleştirmeden kapandıysa) veya id'si olmayan eski kayıtlar varsa sonuç hemen yeni
+   * snapshot olarak yazılır.
+   */
+  private List<Credential> loadState() throws IOException {
+    Files.createDirectories(snapshotFile.getParent());
+    boolean rewrite = false;
+    if (Files.exists(snapshotFile)) {
+      List<Credential> list = objectMapper.readValue(snapshotFile.toFile(), new TypeReference<List<Credential>>() {});
+      for (Credential c : list) {
+        if (c.getId() == null) {
+          c.setId(UUID.randomUUID().toString());
+          rewrite = true;
+        }
+        state.put(c.getId(), c);
+      }
+    }
+    if (Files.exists(journalFile)) {
+      rewrite |= replay() > 0;
+    }
+
+    channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    if (rewrite) {
+      compact();
+    } else {
+      channel.truncate(0);
+      rememberSnapshot();
+    }
+    return new ArrayList<>(state.values());
+  }
+
+  private int replay() throws IOException {
+    int applied = 0;
+    try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        Record record;
+        try {
+          record = objectMapper.readValue(line, Record.class);
+        } catch (IOException e) {
+          // Yazılırken kesilmiş son kayıt; sonrası güvenilir değil
+          System.err.println("Gunluk kaydi okunamadi, kalan kayitlar atlandi: " + journalFile + " - " + e.getMessage());
+          break;
+        }
+        if (PUT.equals(record.op) && record.credential != null && record.credential.getId() != null) {
+          state.put(record.credential.getId(), record.credential);
+        } else if (DELETE.equals(record.op) && record.id != null) {
+          state.remove(record.id);
+        } else {
+          continue;
+        }
+        applied++;
+      }
+    }
+    return applied;
+  }
+
+  /**
+   * Yeni veya değişen kaydı kaydeder. Kaydın o anki hali kopyalanır; yazma arka planda yapılır.
+   */
+  void put(Credential credential) {
+    enqueue(credential.getId(), credential.copy());
+  }
+
+  void delete(Credential credential) {
+    enqueue(credential.getId(), null);
+  }
+
+  private synchronized void enqueue(String id, Credential copy) {
+    pending.put(id, copy);
+    if (pendingFlush == null) {
+      pendingFlush = EXECUTOR.schedule(this::flush, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private synchronized Map<String, Credential> takePending() {
+    Map<String, Credential> taken = pending;
+    pending = new LinkedHashMap<>();
+    if (pendingFlush != null) {
+      pendingFlush.cancel(false);
+      pendingFlush = null;
+    }
+    return taken;
+  }
+
+  /**
+   * Yazılamayan düzenlemeleri bekleyenlere geri koyar; arada gelen daha yeni düzenlemeler korunur.
+   * Yeniden yazma bir sonraki düzenlemede veya kapanışta denenir.
+   */
+  private synchronized void restorePending(Map<String, Credential> batch) {
+    Map<String, Credential> restored = new LinkedHashMap<>(batch);
+    restored.putAll(pending);
+    pending = restored;
+  }
+
+  /**
+   * Bekleyen düzenlemeleri tek yazmada günlüğe ekler, diske zorlar ve gerekirse birleştirir.
+   * Düzenlemeler durum (state) üzerine ancak günlüğe yazıldıktan sonra uygulanır; yazma hata
+   * verirse yarım yazılan kısım geri alınır ve düzenlemeler tekrar beklemeye alınır.
+   */
+  private void flush() {
+    Map<String, Credential> batch = takePending();
+    if (batch.isEmpty() || channel == null) {
+      return;
+    }
+    long start = -1;
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(256 * batch.size());
+      for (Map.Entry<String, Credential> edit : batch.entrySet()) {
+        Record record = new Record();
+        if (edit.getValue() != null) {
+          record.op = PUT;
+          record.credential = edit.getValue();
+        } else {
+          record.op = DELETE;
+          record.id = edit.getKey();
+        }
+        out.write(objectMapper.writeValueAsBytes(record));
+        out.write('\n');
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      start = channel.position();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    } catch (IOException e) {
+      // Yarım kalan satır sonraki kayıtların okunmasını engellemesin
+      if (start >= 0) {
+        try {
+          channel.truncate(start);
+        } catch (IOException ignored) {
+          // Açılışta yarım son satır zaten atlanır
+        }
+      }
+      restorePending(batch);
+      errorHandler.accept(e);
+      return;
+    }
+
+    for (Map.Entry<String, Credential> edit : batch.entrySet()) {
+      if (edit.getValue() != null) {
+        state.put(edit.getKey(), edit.getValue());
+      } else {
+        state.remove(edit.getKey());
+      }
+    }
+    records += batch.size();
+
+    // Günlük, ortamdaki kayıt sayısı kadar büyüdüyse birleştir; maliyet düzenlemelere yayılır.
+    // Snapshot dışarıdan değiştiyse üzerine yazılmaz, ortam yeniden yüklenirken günlük uygulanır.
+    if (records >= Math.max(COMPACT_MIN_RECORDS, state.size()) && !isStale()) {
+      try {
+        compact();
+      } catch (IOException e) {
+        // Düzenlemeler günlükte; birleştirme bir sonraki yazmada veya açılışta tekrarlanır
+        errorHandler.accept(e);
+      }
+    }
+  }
+
+  /**
+   * Güncel durumu yeni snapshot olarak yazar ve günlüğü boşaltır. Snapshot geçici dosyaya
+   * yazılıp yerine taşınır; arada kesilirse günlük eski ya da yeni snapshot üzerine aynı
+   * sonucu verir.
+   */
+  private void compact() throws IOException {
+    Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+    try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.wrap(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(state.values()));
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
+      out.force(true);
+    }
+    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    rememberSnapshot();
+    channel.truncate(0);
+    channel.force(true);
+    records = 0;
+  }
+
+  private void rememberSnapshot() throws IOException {
+    if (Files.exists(snapshotFile)) {
+      BasicFileAttributes attributes = Files.readAttributes(snapshotFile, BasicFileAttributes.class);
+      snapshotTime = attributes.lastModifiedTime();
+      snapshotSize = attributes.size();
+    } else {
+      snapshotTime = null;
+      snapshotSize = -1;
+    }
+  }
+
+  /**
+   * Snapshot, son okunduğu/yazıldığı andan sonra dışarıdan (başka bir uygulama örneği, elle
+   * düzenleme) değiştirildi mi. Yalnızca yüklenmiş günlük için anlamlıdır.
+   */
+  boolean isStale() {
+    FileTime time = snapshotTime;
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(snapshotFile, BasicFileAttributes.class);
+      return !attributes.lastModifiedTime().equals(time) || attributes.size() != snapshotSize;
+    } catch (IOException e) {
+      // Dosya silindi
+      return time != null;
+    }
+  }
+
+  private static List<Credential> copies(List<Credential> credentials) {
+    List<Credential> copies = new ArrayList<>(credentials.size());
+    for (Credential c : credentials) {
+      copies.add(c.copy());
+    }
+    return copies;
+  }
+
+  /**
+   * Bekleyen düzenlemeleri yazar ve günlüğü arka planda kapatır
+   */
+  CompletableFuture<Void> closeAsync() {
+    return CompletableFuture.runAsync(() -> {
+      flush();
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          errorHandler.accept(e);
+        }
+        channel = null;
+      }
+    }, EXECUTOR);
+  }
+
+  /**
+   * Bekleyen düzenlemeler yazılana kadar bekler (uygulama kapanırken)
+   */
+  @Override
+  public void close() {
+    closeAsync().join();
+  }
+
+  // Günlükteki tek satır: put için kaydın tamamı, delete için yalnızca id
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  static class Record {
+    public String op;
+    public String id;
+    public Credential credential;
+  }
+}
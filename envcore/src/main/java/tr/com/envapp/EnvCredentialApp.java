@@ -1,5 +1,6 @@
 package tr.com.envapp;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,13 +16,14 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -38,11 +40,22 @@ public class EnvCredentialApp extends Application {
 
   private static final String VERSION = "2.0.0";
 
-  private final ObservableList<Credential> data = FXCollections.observableArrayList();
+  // Seçili ortamın kayıtları; ortam değişince önbellekteki listeyle değiştirilir
+  private ObservableList<Credential> data = FXCollections.observableArrayList();
   private final ObjectMapper objectMapper = new ObjectMapper();
 
+  // Ortam -> kayıtlar ve günlük; ortamlar açılışta arka planda yüklenir, geçişte yeniden okunmaz
+  private final Map<String, EnvData> envCache = new HashMap<>();
+
   private ComboBox<String> envCombo;
   private TableView<Credential> table;
+  // Seçili ortamın kayıtlarını key'e göre süzer; tablo bunun sonuç listesini gösterir
+  private final KeyFilter keyFilter = new KeyFilter();
+
+  // Tüm ortamlardaki kayıtların indeksi; yüklenen ortamlar ve düzenlemeler anında eklenir
+  private final CredentialIndex index = new CredentialIndex();
+  private TextField globalSearchField;
+  private ListView<CredentialIndex.Entry> globalResults;
 
   // TrayIcon referansı
   private TrayIcon trayIcon;
@@ -100,31 +113,67 @@ public class EnvCredentialApp extends Application {
     envCombo.setOnAction(e -> loadDataForSelectedEnv());
 
     // 🔹 Table + Filtering
-    FilteredList<Credential> filteredData = new FilteredList<>(data, p -> true);
-    SortedList<Credential> sortedData = new SortedList<>(filteredData);
-
     table = new TableView<>();
     table.setEditable(true);
-    table.setItems(sortedData);
     table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+    SortedList<Credential> sortedData = new SortedList<>(keyFilter.visible());
     sortedData.comparatorProperty().bind(table.comparatorProperty());
+    table.setItems(sortedData);
+    showData(data);
 
     // 🔹 Altına Key Filter ekleme
     TextField keyFilterField = new TextField();
     keyFilterField.setPromptText("Key ara...");
     keyFilterField.setStyle("-fx-prompt-text-fill: #bbbbbb;");
-    keyFilterField.textProperty().addListener((obs, oldVal, newVal) ->
-        filteredData.setPredicate(item -> {
-          if (newVal == null || newVal.isBlank()) return true;
-          return item.getKey().toLowerCase().contains(newVal.toLowerCase());
-        }));
+    keyFilterField.textProperty().addListener((obs, oldVal, newVal) -> keyFilter.setQuery(newVal));
 
     keyFilterField.setMaxWidth(Double.MAX_VALUE);
-    HBox keyFilterBox = new HBox(keyFilterField);
+
+    // 🔹 Tüm ortamlarda arama (key, URL, username)
+    globalSearchField = new TextField();
+    globalSearchField.setPromptText("Tüm ortamlarda ara (key, URL, username)...");
+    globalSearchField.setMaxWidth(Double.MAX_VALUE);
+    globalResults = new ListView<>();
+    globalResults.setPrefHeight(180);
+    globalResults.setVisible(false);
+    globalResults.setManaged(false);
+    globalResults.setCellFactory(lv -> new ListCell<>() {
+      @Override
+      protected void updateItem(CredentialIndex.Entry item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+          setText(null);
+        } else {
+          Credential c = item.credential;
+          setText("[" + item.env + "]  " + c.getKey() + "  —  " + c.getUrl()
+              + (c.getUsername() == null || c.getUsername().isBlank() ? "" : "  (" + c.getUsername() + ")"));
+        }
+      }
+    });
+    globalSearchField.textProperty().addListener((obs, oldVal, newVal) -> updateGlobalSearch());
+    // Enter ilk sonuca, çift tık/Enter seçili sonuca gider
+    globalSearchField.setOnAction(e -> {
+      if (!globalResults.getItems().isEmpty()) {
+        showGlobalResult(globalResults.getItems().get(0), keyFilterField);
+      }
+    });
+    globalResults.setOnMouseClicked(e -> {
+      if (e.getClickCount() == 2 && globalResults.getSelectionModel().getSelectedItem() != null) {
+        showGlobalResult(globalResults.getSelectionModel().getSelectedItem(), keyFilterField);
+      }
+    });
+    globalResults.setOnKeyPressed(e -> {
+      if (e.getCode() == javafx.scene.input.KeyCode.ENTER && globalResults.getSelectionModel().getSelectedItem() != null) {
+        showGlobalResult(globalResults.getSelectionModel().getSelectedItem(), keyFilterField);
+      }
+    });
+
+    HBox keyFilterBox = new HBox(10, keyFilterField, globalSearchField);
     keyFilterBox.setAlignment(Pos.CENTER_LEFT);
     HBox.setHgrow(keyFilterField, Priority.ALWAYS);
+    HBox.setHgrow(globalSearchField, Priority.ALWAYS);
 
-    VBox tableContainer = new VBox(10, keyFilterBox, table);
+    VBox tableContainer = new VBox(10, keyFilterBox, globalResults, table);
     VBox.setVgrow(table, Priority.ALWAYS);
     VBox.setVgrow(tableContainer, Priority.ALWAYS);
     tableContainer.setMaxWidth(Double.MAX_VALUE);
@@ -169,6 +218,11 @@ public class EnvCredentialApp extends Application {
         showAlert("Key boş olamaz.");
         return;
       }
+      EnvData envData = envCache.get(env);
+      if (envData == null || envData.items == null) {
+        showAlert("Ortam henüz yüklenmedi, lütfen bekleyin.");
+        return;
+      }
 
       Credential newItem = new Credential(
           env,
@@ -178,7 +232,7 @@ public class EnvCredentialApp extends Application {
           passwordField.getText().trim()
       );
       data.add(newItem);
-      saveCurrentEnv(env);
+      saveCredential(newItem);
 
       keyField.clear();
       urlField.clear();
@@ -213,7 +267,7 @@ public class EnvCredentialApp extends Application {
       confirm.getButtonTypes().setAll(ButtonType.YES, ButtonType.NO);
       if (confirm.showAndWait().orElse(ButtonType.NO) == ButtonType.YES) {
         data.remove(selected);
-        saveCurrentEnv(getSelectedEnv());
+        deleteCredential(selected);
       }
     });
 
@@ -371,8 +425,9 @@ public class EnvCredentialApp extends Application {
       @Override
       public void commitEdit(String newValue) {
         super.commitEdit(newValue);
-        getTableView().getItems().get(getIndex()).setUrl(newValue);
-        saveCurrentEnv(getSelectedEnv());
+        Credential item = getTableView().getItems().get(getIndex());
+        item.setUrl(newValue);
+        saveCredential(item);
       }
 
       @Override
@@ -425,8 +480,9 @@ public class EnvCredentialApp extends Application {
       @Override
       public void commitEdit(String newValue) {
         super.commitEdit(newValue);
-        getTableView().getItems().get(getIndex()).setUsername(newValue);
-        saveCurrentEnv(getSelectedEnv());
+        Credential item = getTableView().getItems().get(getIndex());
+        item.setUsername(newValue);
+        saveCredential(item);
         setGraphic(box);
       }
 
@@ -501,7 +557,7 @@ public class EnvCredentialApp extends Application {
         super.commitEdit(newValue);
         Credential item = getTableView().getItems().get(getIndex());
         item.setPassword(newValue);
-        saveCurrentEnv(getSelectedEnv());
+        saveCredential(item);
         setGraphic(box);
       }
 
@@ -550,6 +606,13 @@ public class EnvCredentialApp extends Application {
     tr.com.envapp.search.SearchPane searchPane = new tr.com.envapp.search.SearchPane(appStage);
     searchTab.setContent(searchPane.build());
     searchTab.setClosable(false);
+    searchTab.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+      if (isSelected) {
+        searchPane.onShown();
+      } else {
+        searchPane.onHidden();
+      }
+    });
 
     TabPane tabPane = new TabPane(credTab, searchTab);
     tabPane.setTabMinHeight(32);
@@ -590,6 +653,7 @@ public class EnvCredentialApp extends Application {
 
     // Kontroller için stil uygulayalım
     keyFilterField.setStyle(fieldStyle + " -fx-prompt-text-fill: #bbbbbb;");
+    globalSearchField.setStyle(fieldStyle + " -fx-prompt-text-fill: #bbbbbb;");
     table.setStyle(tableStyle);
 
     appStage.setScene(scene);
@@ -601,6 +665,10 @@ public class EnvCredentialApp extends Application {
       envCombo.getSelectionModel().selectFirst();
     }
     loadDataForSelectedEnv();
+    // Diğer ortamlar arka planda, seçili ortamdan sonra sırayla yüklenir
+    for (String env : environments) {
+      envData(env);
+    }
   }
 
   // Sistem tepsisi (tray) kurulum metodu
@@ -703,7 +771,7 @@ public class EnvCredentialApp extends Application {
     col.setOnEditCommit(evt -> {
       Credential c = evt.getRowValue();
       setter.accept(c, evt.getNewValue());
-      saveCurrentEnv(getSelectedEnv());
+      saveCredential(c);
     });
     return col;
   }
@@ -737,37 +805,117 @@ public class EnvCredentialApp extends Application {
     }
   }
 
+  @Override
+  public void stop() {
+    // Bekleyen düzenlemeler yazılmadan çıkılmaz
+    for (EnvData envData : envCache.values()) {
+      envData.journal.close();
+    }
+    envCache.clear();
+  }
+
   private void loadDataForSelectedEnv() {
     String env = getSelectedEnv();
     if (env == null || env.isBlank()) {
-      data.clear();
+      showData(FXCollections.observableArrayList());
       return;
     }
 
-    Path file = Path.of("data", env + ".json");
-    if (!Files.exists(file)) {
-      data.clear();
-      return;
+    EnvData envData = envCache.get(env);
+    if (envData != null && envData.items != null && envData.journal.isStale()) {
+      // Dosya dışarıdan değişti; bekleyen düzenlemeler günlüğe yazılır ve ortam yeniden okunur
+      envCache.remove(env);
+      envData.journal.closeAsync();
+      index.removeEnv(env);
+      updateGlobalSearch();
     }
+    envData = envData(env);
+    showData(envData.items != null ? envData.items : FXCollections.observableArrayList());
+  }
 
-    try {
-      List<Credential> list = objectMapper.readValue(file.toFile(), new TypeReference<List<Credential>>() {});
-      data.setAll(list);
-    } catch (IOException e) {
-      showAlert("Yükleme hatası: " + e.getMessage());
+  // Ortamın önbellekteki kayıtları; yoksa arka planda yüklemeye başlar
+  private EnvData envData(String env) {
+    return envCache.computeIfAbsent(env, this::loadEnv);
+  }
+
+  // Snapshot + günlük (data/<env>.json, data/<env>.journal) arka planda okunur; ortam o sırada
+  // seçiliyse yükleme bitince tabloya konur
+  private EnvData loadEnv(String env) {
+    EnvData envData = new EnvData(new CredentialJournal(Path.of("data"), env, objectMapper,
+        e -> showAlert("Kaydetme hatası: " + e.getMessage())));
+    envData.journal.load().whenComplete((list, error) -> Platform.runLater(() -> {
+      if (envCache.get(env) != envData) {
+        // Bu arada önbellekten çıkarıldı
+        return;
+      }
+      if (error != null) {
+        envCache.remove(env);
+        envData.journal.closeAsync();
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        showAlert("Yükleme hatası: " + cause.getMessage());
+        return;
+      }
+      envData.items = FXCollections.observableArrayList(list);
+      index.putAll(env, envData.items);
+      updateGlobalSearch();
+      if (env.equals(getSelectedEnv())) {
+        showData(envData.items);
+      }
+    }));
+    return envData;
+  }
+
+  // Tabloyu verilen listeye bağlar; filtre ve sıralama yeni liste üzerinde sürer
+  private void showData(ObservableList<Credential> items) {
+    data = items;
+    keyFilter.setSource(items);
+  }
+
+  // Yeni veya düzenlenen kaydı seçili ortamın günlüğüne ekler; yazma arka planda, birleştirilerek yapılır
+  private void saveCredential(Credential item) {
+    EnvData envData = envCache.get(getSelectedEnv());
+    if (envData != null && envData.items == data) {
+      envData.journal.put(item);
+      index.put(getSelectedEnv(), item);
+      updateGlobalSearch();
     }
   }
 
-  private void saveCurrentEnv(String env) {
-    if (env == null || env.isBlank()) return;
-    try {
-      Path dir = Path.of("data");
-      if (!Files.exists(dir)) Files.createDirectories(dir);
-      Path file = dir.resolve(env + ".json");
-      objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), data);
-    } catch (IOException e) {
-      showAlert("Kaydetme hatası: " + e.getMessage());
+  private void deleteCredential(Credential item) {
+    EnvData envData = envCache.get(getSelectedEnv());
+    if (envData != null && envData.items == data) {
+      envData.journal.delete(item);
+      index.remove(item);
+      updateGlobalSearch();
+    }
+  }
+
+  // Global arama sonuçlarını indeksten yeniler; arama kutusu boşsa listeyi gizler
+  private void updateGlobalSearch() {
+    String query = globalSearchField.getText();
+    boolean active = query != null && !query.isBlank();
+    globalResults.setVisible(active);
+    globalResults.setManaged(active);
+    if (active) {
+      globalResults.getItems().setAll(index.search(query, 200));
+    } else {
+      globalResults.getItems().clear();
+    }
+  }
+
+  // Sonucun ortamına geçer ve kaydı tabloda seçer
+  private void showGlobalResult(CredentialIndex.Entry result, TextField keyFilterField) {
+    if (!result.env.equals(getSelectedEnv())) {
+      envCombo.setValue(result.env);
+    }
+    // Kayıt key filtresine takılıyorsa filtre temizlenir
+    if (!keyFilter.test(result.credential)) {
+      keyFilterField.clear();
+      keyFilter.applyNow("");
     }
+    table.getSelectionModel().select(result.credential);
+    table.scrollTo(result.credential);
+    table.requestFocus();
   }
 
   private void showAlert(String message) {
@@ -834,9 +982,24 @@ public class EnvCredentialApp extends Application {
     Platform.runLater(() -> stage.setAlwaysOnTop(prev));
   }
 
+  // Önbellekteki bir ortam: günlük ve (yüklendiyse) tabloda gösterilen kayıtlar
+  private static class EnvData {
+    final CredentialJournal journal;
+    ObservableList<Credential> items;
+
+    EnvData(CredentialJournal journal) {
+      this.journal = journal;
+    }
+  }
+
   // Basit veri modeli
   @JsonIgnoreProperties(ignoreUnknown = true)
   public static class Credential {
+    // Günlük kayıtlarının hangi satıra ait olduğunu belirler; key düzenlenebildiği için ayrı tutulur
+    private String id;
+    // Filtre için normalize edilmiş key; key değişince yeniden hesaplanır
+    @JsonIgnore
+    private String normalizedKey;
     private String env;
     private String key;
     private String url;
@@ -846,6 +1009,7 @@ public class EnvCredentialApp extends Application {
     public Credential() {}
 
     public Credential(String env, String key, String url, String username, String password) {
+      this.id = java.util.UUID.randomUUID().toString();
       this.env = env;
       this.key = key;
       this.url = url;
@@ -853,11 +1017,25 @@ public class EnvCredentialApp extends Application {
       this.password = password;
     }
 
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
     public String getEnv() { return env; }
     public void setEnv(String env) { this.env = env; }
 
     public String getKey() { return key; }
-    public void setKey(String key) { this.key = key; }
+    public void setKey(String key) {
+      this.key = key;
+      this.normalizedKey = null;
+    }
+
+    @JsonIgnore
+    public String getNormalizedKey() {
+      if (normalizedKey == null) {
+        normalizedKey = KeyFilter.normalize(key);
+      }
+      return normalizedKey;
+    }
 
     public String getUrl() { return url; }
     public void setUrl(String url) { this.url = url; }
@@ -867,5 +1045,16 @@ public class EnvCredentialApp extends Application {
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+
+    public Credential copy() {
+      Credential copy = new Credential();
+      copy.id = id;
+      copy.env = env;
+      copy.key = key;
+      copy.url = url;
+      copy.username = username;
+      copy.password = password;
+      return copy;
+    }
   }
 }
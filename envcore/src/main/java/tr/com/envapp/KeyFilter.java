@@ -0,0 +1,140 @@
+package tr.com.envapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.util.Duration;
+import tr.com.envapp.EnvCredentialApp.Credential;
+
+/**
+ * Kayıt tablosunun key filtresi.
+ *
+ * Her kaydın key'i bir kez normalize edilir (Credential.getNormalizedKey) ve filtre bu değer
+ * üzerinde, satır başına nesne oluşturmadan çalışır. Tuş vuruşları DEBOUNCE kadar beklenip tek
+ * filtrelemeye dönüşür. Sorgu bir öncekinin uzantısıysa ("ord" -> "orde") yalnızca önceki
+ * sonuçlar taranır. Kaynak listeye eklenen/çıkarılan kayıtlar sonuç listesine tek tek yansıtılır.
+ * Yalnızca FX thread'inde kullanılır.
+ */
+final class KeyFilter {
+
+  private static final Duration DEBOUNCE = Duration.millis(150);
+
+  private final ObservableList<Credential> visible = FXCollections.observableArrayList();
+  private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+  private final ListChangeListener<Credential> sourceListener = this::onSourceChanged;
+
+  private ObservableList<Credential> source = FXCollections.observableArrayList();
+  // Uygulanan sorgu (normalize edilmiş); boş = tüm kayıtlar
+  private String query = "";
+  private String pendingText;
+
+  KeyFilter() {
+    debounce.setOnFinished(e -> applyNow(pendingText));
+  }
+
+  /**
+   * Büyük/küçük harf farkını kaldırır. String.toLowerCase yerine karakter karakter çevrilir:
+   * 'İ' tek bir 'i' olur (ROOT locale'de "i̇" olarak iki karaktere açılmaz) ve Türkçe 'ı' da
+   * 'i' sayılır; böylece "api" hem "API" hem "APİ" key'lerini bulur.
+   */
+  static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    StringBuilder folded = null;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      char f = c == 'ı' ? 'i' : Character.toLowerCase(c);
+      if (f != c && folded == null) {
+        folded = new StringBuilder(value.length()).append(value, 0, i);
+      }
+      if (folded != null) {
+        folded.append(f);
+      }
+    }
+    return folded == null ? value : folded.toString();
+  }
+
+  /**
+   * Filtreden geçen kayıtlar; tablo bu listeye bağlanır
+   */
+  ObservableList<Credential> visible() {
+    return visible;
+  }
+
+  /**
+   * Filtrelenecek listeyi değiştirir (ortam değişti); geçerli sorgu hemen uygulanır
+   */
+  void setSource(ObservableList<Credential> items) {
+    source.removeListener(sourceListener);
+    source = items;
+    source.addListener(sourceListener);
+    visible.setAll(select(source, query));
+  }
+
+  /**
+   * Yazılan metni DEBOUNCE sonra uygular; arada gelen metinler yalnızca sonuncusuyla sonuçlanır
+   */
+  void setQuery(String text) {
+    pendingText = text;
+    debounce.playFromStart();
+  }
+
+  /**
+   * Metni beklemeden uygular
+   */
+  void applyNow(String text) {
+    debounce.stop();
+    String normalized = text == null || text.isBlank() ? "" : normalize(text);
+    if (normalized.equals(query)) {
+      return;
+    }
+    // Sorgu uzadıysa yalnızca önceki sonuçlar eşleşebilir
+    List<Credential> candidates = !query.isEmpty() && normalized.startsWith(query) ? visible : source;
+    query = normalized;
+    visible.setAll(select(candidates, normalized));
+  }
+
+  boolean test(Credential credential) {
+    return query.isEmpty() || credential.getNormalizedKey().contains(query);
+  }
+
+  private List<Credential> select(List<Credential> candidates, String normalized) {
+    if (normalized.isEmpty()) {
+      return candidates;
+    }
+    List<Credential> matches = new ArrayList<>();
+    for (Credential credential : candidates) {
+      if (credential.getNormalizedKey().contains(normalized)) {
+        matches.add(credential);
+      }
+    }
+    return matches;
+  }
+
+  private void onSourceChanged(ListChangeListener.Change<? extends Credential> change) {
+    while (change.next()) {
+      if (change.wasPermutated() || change.wasUpdated()) {
+        continue;
+      }
+      if (change.getRemovedSize() > 1) {
+        // Toplu değişiklik (setAll vb.): baştan filtrelemek daha ucuz
+        visible.setAll(select(source, query));
+        return;
+      }
+      if (change.wasRemoved()) {
+        visible.remove(change.getRemoved().get(0));
+      }
+      if (change.wasAdded()) {
+        for (Credential credential : change.getAddedSubList()) {
+          if (test(credential)) {
+            visible.add(credential);
+          }
+        }
+      }
+    }
+  }
+}
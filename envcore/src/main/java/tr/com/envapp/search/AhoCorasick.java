@@ -0,0 +1,105 @@
+package tr.com.envapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Birden fazla terimi tek geçişte arayan Aho-Corasick otomatı.
+ *
+ * Terimler önceden sembol sınıflarına (0..alphabetSize-1) çevrilmiş olarak verilir; 0 sınıfı
+ * hiçbir terimde geçmeyen semboller içindir. Failure link'ler build sırasında geçiş tablosuna
+ * gömülür, böylece tarama her sembol için tek bir dizi erişimidir.
+ */
+final class AhoCorasick {
+
+    private final int alphabetSize;
+    private int[] delta;
+    private int[] output;
+    private int[] outputLink;
+    private int stateCount;
+
+    /**
+     * @param patterns Sembol sınıflarına çevrilmiş terimler; aynı terim birden fazla verilirse ilki raporlanır
+     * @param alphabetSize Sembol sınıfı sayısı
+     */
+    AhoCorasick(int[][] patterns, int alphabetSize) {
+        this.alphabetSize = alphabetSize;
+        int maxStates = 1;
+        for (int[] pattern : patterns) {
+            maxStates += pattern.length;
+        }
+        delta = new int[maxStates * alphabetSize];
+        Arrays.fill(delta, -1);
+        output = new int[maxStates];
+        Arrays.fill(output, -1);
+        outputLink = new int[maxStates];
+        Arrays.fill(outputLink, -1);
+        stateCount = 1;
+
+        // Trie
+        for (int term = 0; term < patterns.length; term++) {
+            int state = 0;
+            for (int symbol : patterns[term]) {
+                int index = state * alphabetSize + symbol;
+                if (delta[index] < 0) {
+                    delta[index] = stateCount++;
+                }
+                state = delta[index];
+            }
+            if (output[state] < 0) {
+                output[state] = term;
+            }
+        }
+
+        // Failure link'ler (BFS) ve eksik geçişlerin doldurulması
+        int[] fail = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = delta[symbol];
+            if (next < 0) {
+                delta[symbol] = 0;
+            } else {
+                fail[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int failState = fail[state];
+            outputLink[state] = output[failState] >= 0 ? failState : outputLink[failState];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int index = state * alphabetSize + symbol;
+                int next = delta[index];
+                if (next < 0) {
+                    delta[index] = delta[failState * alphabetSize + symbol];
+                } else {
+                    fail[next] = delta[failState * alphabetSize + symbol];
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        delta = Arrays.copyOf(delta, stateCount * alphabetSize);
+        output = Arrays.copyOf(output, stateCount);
+        outputLink = Arrays.copyOf(outputLink, stateCount);
+    }
+
+    int next(int state, int symbol) {
+        return delta[state * alphabetSize + symbol];
+    }
+
+    /**
+     * Bu durumda biten en uzun terim, yoksa -1
+     */
+    int output(int state) {
+        return output[state];
+    }
+
+    /**
+     * Suffix zincirinde terim biten bir sonraki durum, yoksa -1
+     */
+    int outputLink(int state) {
+        return outputLink[state];
+    }
+}
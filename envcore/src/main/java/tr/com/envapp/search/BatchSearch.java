@@ -0,0 +1,428 @@
+package tr.com.envapp.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Sorgu dosyasındaki aramaları etkileşimsiz çalıştırıp sonuçları makine tarafından okunabilir
+ * biçimde yazar (CI betikleri için).
+ *
+ * Sorgu dosyası JSON Lines'tır; her satır bir sorgudur:
+ * <pre>
+ *   {"id": "entity", "terms": ["CustomerEntity", "CustomerDto"], "folderPattern": "his-api-*"}
+ *   {"id": "table", "term": "@Table\\(name\\s*=\\s*\"CUST_", "regex": true, "caseSensitive": true}
+ * </pre>
+ * Alanlar: id (varsayılan satır numarası), term veya terms, folderPattern (varsayılan "*"),
+ * parentFolderFilter, caseSensitive, wholeWord, regex. Boş satırlar atlanır.
+ *
+ * Aynı klasör pattern'i, üst klasör filtresi ve eşleştirme seçenekleriyle çalışan literal sorgular
+ * tek bir çok terimli aramada birleştirilir; ağaç bu sorgular için bir kez taranır ve sonuçlar
+ * eşleşen terime göre sorgulara dağıtılır. Regex sorguları ayrı taranır. Sorgu özetindeki
+ * traversalElapsedMs sorgunun kendi maliyeti değil, paylaştığı taramanın süresidir; aynı
+ * traversal numarasına sahip sorgularda aynı değer yazılır.
+ *
+ * Çıktı tamponlu yazılır. JSON Lines biçiminde her sonuç bir "result", her sorgu bir "summary"
+ * kaydıdır ve sonda bir "total" kaydı gelir. CSV biçiminde sonuç satırları çıktıya, sorgu
+ * özetleri ayrı bir CSV olarak özet akışına yazılır.
+ *
+ * Çıkış kodları grep'teki gibidir: sorgu başına 0 = sonuç bulundu, 1 = sonuç yok, 2 = hata.
+ * Toplu çalıştırmanın kodu herhangi bir sorgu hata verdiyse 2, değilse en az bir sorgu sonuç
+ * bulduysa 0, hiçbiri bulmadıysa 1'dir.
+ */
+final class BatchSearch {
+
+    static final int EXIT_FOUND = 0;
+    static final int EXIT_NOT_FOUND = 1;
+    static final int EXIT_ERROR = 2;
+
+    enum Format {
+        JSONL, CSV;
+
+        static Format parse(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Bilinmeyen çıktı biçimi: " + name + " (jsonl veya csv)");
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String basePath;
+    private final Format format;
+    // CLI'dan gelen ortak ayarları (ignore, include/exclude) uygulanmış yeni bir servis döner
+    private final Supplier<EntitySearchService> services;
+
+    BatchSearch(String basePath, Format format, Supplier<EntitySearchService> services) {
+        this.basePath = basePath;
+        this.format = format;
+        this.services = services;
+    }
+
+    /**
+     * Sorgu dosyasını okur; ayrıştırılamayan satırlar hata durumundaki sorgu olarak döner
+     * @param defaultRegex "regex" alanı olmayan sorgular için varsayılan
+     */
+    static List<Query> readQueries(Path file, boolean defaultRegex) throws IOException {
+        List<Query> queries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    queries.add(Query.parse(line, lineNumber, defaultRegex));
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Sorguları çalıştırır
+     * @param out Sonuçlar (JSON Lines'ta özetler de) buraya yazılır
+     * @param summaryOut CSV biçiminde sorgu özetlerinin yazılacağı akış
+     * @return Toplu çalıştırmanın çıkış kodu
+     */
+    int run(List<Query> queries, Writer out, Writer summaryOut) throws IOException {
+        long start = System.nanoTime();
+        Output output = format == Format.JSONL ? new JsonOutput(out) : new CsvOutput(out, summaryOut);
+
+        // Sorgular birlikte taranabilecekleri gruplara ayrılır; regex ve hatalı sorgular tek başına kalır
+        Map<List<Object>, List<Query>> groups = new LinkedHashMap<>();
+        for (Query query : queries) {
+            List<Object> key = query.error != null || query.regex
+                ? List.of(query)
+                : Arrays.asList(query.folderPattern, query.parentFolderFilter, query.caseSensitive, query.wholeWord);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(query);
+        }
+
+        int traversal = 0;
+        for (List<Query> group : groups.values()) {
+            // Ayrıştırılamayan sorgular taranmaz (tarama numarası 0)
+            boolean valid = group.get(0).error == null;
+            if (valid) {
+                traversal++;
+                runGroup(group, output);
+            }
+            for (Query query : group) {
+                query.traversal = valid ? traversal : 0;
+                output.summary(query);
+            }
+        }
+
+        int exitCode = EXIT_NOT_FOUND;
+        for (Query query : queries) {
+            if (query.exitCode() == EXIT_ERROR) {
+                exitCode = EXIT_ERROR;
+                break;
+            }
+            if (query.exitCode() == EXIT_FOUND) {
+                exitCode = EXIT_FOUND;
+            }
+        }
+        output.total(queries.size(), traversal, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), exitCode);
+        output.flush();
+        return exitCode;
+    }
+
+    /**
+     * Bir grubun sorgularını tek taramada çalıştırır; sonuçlar eşleşen terime göre sorgulara dağıtılır
+     */
+    private void runGroup(List<Query> group, Output output) throws IOException {
+        Query first = group.get(0);
+        // Büyük/küçük harf duyarsız aramada yalnızca harf farkı olan terimler tek terim olarak aranır
+        Map<String, String> terms = new LinkedHashMap<>();
+        Map<String, List<Query>> queriesByTerm = new HashMap<>();
+        for (Query query : group) {
+            for (String term : query.terms) {
+                String key = first.caseSensitive ? term : CompiledQuery.foldAll(term);
+                String searched = terms.computeIfAbsent(key, k -> term);
+                List<Query> targets = queriesByTerm.computeIfAbsent(searched, t -> new ArrayList<>());
+                if (!targets.contains(query)) {
+                    targets.add(query);
+                }
+            }
+        }
+
+        EntitySearchService service = services.get();
+        service.setCaseSensitive(first.caseSensitive);
+        service.setWholeWord(first.wholeWord);
+        service.setRegex(first.regex);
+
+        long start = System.nanoTime();
+        try {
+            service.search(basePath, new ArrayList<>(terms.values()), first.folderPattern, first.parentFolderFilter, result -> {
+                // Regex sorgusu grubunda tektir; sonucun terimi pattern'in kendisidir
+                List<Query> targets = first.regex ? group : queriesByTerm.getOrDefault(result.getMatchedTerm(), List.of());
+                for (Query query : targets) {
+                    query.add(result);
+                    try {
+                        output.result(query, result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return true;
+            });
+        } catch (PatternSyntaxException e) {
+            group.forEach(query -> query.error = "Geçersiz regex - " + e.getDescription());
+        } catch (IllegalArgumentException e) {
+            group.forEach(query -> query.error = e.getMessage());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        group.forEach(query -> query.traversalElapsedMillis = elapsed);
+    }
+
+    /**
+     * Sorgu dosyasındaki bir sorgu ve çalıştırma sonucu
+     */
+    static final class Query {
+        final String id;
+        final List<String> terms;
+        final String folderPattern;
+        final String parentFolderFilter;
+        final boolean caseSensitive;
+        final boolean wholeWord;
+        final boolean regex;
+        String error;
+
+        int results;
+        int files;
+        // Sorgunun dahil olduğu taramanın süresi; gruptaki tüm sorgularda aynıdır
+        long traversalElapsedMillis;
+        int traversal;
+        // Bir dosyanın sonuçları ardışık gelir; dosya değişimi yeni dosya demektir
+        private SearchResult lastResult;
+
+        private Query(String id, List<String> terms, String folderPattern, String parentFolderFilter,
+                      boolean caseSensitive, boolean wholeWord, boolean regex, String error) {
+            this.id = id;
+            this.terms = terms;
+            this.folderPattern = folderPattern;
+            this.parentFolderFilter = parentFolderFilter;
+            this.caseSensitive = caseSensitive;
+            this.wholeWord = wholeWord;
+            this.regex = regex;
+            this.error = error;
+        }
+
+        static Query parse(String line, int lineNumber, boolean defaultRegex) {
+            String id = String.valueOf(lineNumber);
+            JsonNode node;
+            try {
+                node = MAPPER.readTree(line);
+            } catch (JsonProcessingException e) {
+                return invalid(id, "Satır " + lineNumber + " geçerli JSON değil: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return invalid(id, "Satır " + lineNumber + " bir JSON nesnesi değil");
+            }
+            if (node.hasNonNull("id")) {
+                id = node.get("id").asText();
+            }
+
+            Set<String> terms = new LinkedHashSet<>();
+            if (node.hasNonNull("term")) {
+                terms.add(node.get("term").asText());
+            }
+            for (JsonNode term : node.path("terms")) {
+                terms.add(term.asText());
+            }
+            terms.removeIf(String::isEmpty);
+            boolean regex = node.path("regex").asBoolean(defaultRegex);
+            if (terms.isEmpty()) {
+                return invalid(id, "Sorguda aranacak terim yok");
+            }
+            if (regex && terms.size() != 1) {
+                return invalid(id, "Regex modunda tek bir pattern verilmelidir");
+            }
+
+            String filter = node.path("parentFolderFilter").asText("");
+            return new Query(id, List.copyOf(terms), node.path("folderPattern").asText("*"),
+                filter.isBlank() ? null : filter, node.path("caseSensitive").asBoolean(false),
+                node.path("wholeWord").asBoolean(false), regex, null);
+        }
+
+        private static Query invalid(String id, String error) {
+            return new Query(id, List.of(), "*", null, false, false, false, error);
+        }
+
+        void add(SearchResult result) {
+            if (lastResult == null || lastResult.getPathTable() != result.getPathTable()
+                    || lastResult.getFileId() != result.getFileId()) {
+                files++;
+            }
+            lastResult = result;
+            results++;
+        }
+
+        int exitCode() {
+            if (error != null) {
+                return EXIT_ERROR;
+            }
+            return results > 0 ? EXIT_FOUND : EXIT_NOT_FOUND;
+        }
+    }
+
+    private interface Output {
+        void result(Query query, SearchResult result) throws IOException;
+
+        void summary(Query query) throws IOException;
+
+        void total(int queries, int traversals, long elapsedMillis, int exitCode) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Her kaydı ayrı bir satıra JSON nesnesi olarak yazar
+     */
+    private static final class JsonOutput implements Output {
+        private final Writer out;
+        private final JsonGenerator json;
+
+        JsonOutput(Writer out) throws IOException {
+            this.out = out;
+            // Satır sonları kayıtlar arasına elle yazılır; generator writer'ı kapatmaz
+            this.json = MAPPER.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void result(Query query, SearchResult result) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", "result");
+            json.writeStringField("query", query.id);
+            json.writeStringField("file", result.getFilePath());
+            json.writeStringField("project", result.getProjectName());
+            json.writeNumberField("line", result.getLineNumber());
+            json.writeStringField("term", result.getMatchedTerm());
+            json.writeStringField("text", result.getLineContent());
+            endRecord();
+        }
+
+        @Override
+        public void summary(Query query) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", "summary");
+            json.writeStringField("query", query.id);
+            json.writeNumberField("exitCode", query.exitCode());
+            json.writeNumberField("results", query.results);
+            json.writeNumberField("files", query.files);
+            json.writeNumberField("traversalElapsedMs", query.traversalElapsedMillis);
+            json.writeNumberField("traversal", query.traversal);
+            if (query.error != null) {
+                json.writeStringField("error", query.error);
+            }
+            endRecord();
+        }
+
+        @Override
+        public void total(int queries, int traversals, long elapsedMillis, int exitCode) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", "total");
+            json.writeNumberField("queries", queries);
+            json.writeNumberField("traversals", traversals);
+            json.writeNumberField("elapsedMs", elapsedMillis);
+            json.writeNumberField("exitCode", exitCode);
+            endRecord();
+        }
+
+        private void endRecord() throws IOException {
+            json.writeEndObject();
+            json.flush();
+            out.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+            out.flush();
+        }
+    }
+
+    /**
+     * Sonuçları ve sorgu özetlerini iki ayrı CSV (RFC 4180) olarak yazar
+     */
+    private static final class CsvOutput implements Output {
+        private final Writer out;
+        private final Writer summaryOut;
+
+        CsvOutput(Writer out, Writer summaryOut) throws IOException {
+            this.out = out;
+            this.summaryOut = summaryOut;
+            out.write("query,file,project,line,term,text\r\n");
+            summaryOut.write("query,exitCode,results,files,traversalElapsedMs,traversal,error\r\n");
+        }
+
+        @Override
+        public void result(Query query, SearchResult result) throws IOException {
+            writeRow(out, query.id, result.getFilePath(), result.getProjectName(),
+                String.valueOf(result.getLineNumber()), result.getMatchedTerm(), result.getLineContent());
+        }
+
+        @Override
+        public void summary(Query query) throws IOException {
+            writeRow(summaryOut, query.id, String.valueOf(query.exitCode()), String.valueOf(query.results),
+                String.valueOf(query.files), String.valueOf(query.traversalElapsedMillis), String.valueOf(query.traversal),
+                query.error != null ? query.error : "");
+        }
+
+        @Override
+        public void total(int queries, int traversals, long elapsedMillis, int exitCode) {
+            // CSV'de toplam satırı yoktur; çıkış kodu sürecin kendi kodudur
+        }
+
+        private static void writeRow(Writer writer, String... fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(writer, fields[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private static void writeField(Writer writer, String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            summaryOut.flush();
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package tr.com.envapp.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Bir search(...) çağrısı için bir kez hazırlanan sorgu.
+ *
+ * Tek terim byte ve char seviyesinde Boyer-Moore-Horspool ile, birden fazla terim tek geçişte
+ * Aho-Corasick otomatı ile aranır. Büyük/küçük harf duyarsız aramada karakterler katlama
+ * tablosu ile tek bir forma indirgenir, tam kelime kontrolü eşleşmenin komşu karakterlerine
+ * bakılarak yapılır. Tarama döngüsü satır başına
+ * hiç nesne oluşturmaz. Klasör pattern'i de burada bir kez derlenir.
+ *
+ * Büyük/küçük harf duyarsız karşılaştırma karakter bazında fold() ile yapılır, böylece
+ * sonuç JVM'in varsayılan locale'ine bağlı değildir (ör. "kimlik" hem "KİMLİK" hem
+ * "KIMLIK" ile eşleşir).
+ */
+final class CompiledQuery {
+
+    // ASCII katlama tablosu: A-Z -> a-z, diğer byte'lar aynen
+    private static final byte[] ASCII_FOLD = new byte[256];
+    private static final byte[] IDENTITY = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            IDENTITY[i] = (byte) i;
+            ASCII_FOLD[i] = (byte) ((i >= 'A' && i <= 'Z') ? i + ('a' - 'A') : i);
+        }
+    }
+
+    final List<String> terms;
+    final boolean caseSensitive;
+    final boolean wholeWord;
+    final String parentFolderFilter;
+    private final Pattern folderPattern;
+
+    // Byte seviyesinde arama (null = metin byte seviyesinde aranamaz)
+    private final byte[][] needleBytes;
+    private final byte[] byteFold;
+    private final int minByteLength;
+    // Katlandığında ASCII'ye düşen non-ASCII karakterler (ı, İ, ſ, K) dosyada varsa char yoluna geçilir
+    private final boolean needsFoldVariantCheck;
+    // Terimlerin byte'ları her ASCII uyumlu charset'te aynı; dosyanın UTF-8 olup olmadığı eşleşmeyi değiştirmez
+    private final boolean charsetIndependentBytes;
+
+    // Char seviyesinde arama
+    private final char[][] needleChars;
+
+    // Tek terim: Boyer-Moore-Horspool kaydırma tabloları
+    private final int[] byteShift;
+    private final int[] charShift;
+
+    // Birden fazla terim: Aho-Corasick otomatları ve sembol sınıfları
+    private final AhoCorasick byteAutomaton;
+    private final int[] byteClass;
+    private final AhoCorasick charAutomaton;
+    private final int[] lowCharClass;
+    private final char[] highChars;
+
+    // Regex modu: satırlar önce literal ile elenir, sadece aday satırlarda regex çalışır (null = regex yok)
+    final Pattern regex;
+    private final String regexSource;
+
+    CompiledQuery(String searchString, boolean caseSensitive, boolean wholeWord,
+                  String folderPattern, String parentFolderFilter) {
+        this(List.of(searchString), caseSensitive, wholeWord, folderPattern, parentFolderFilter);
+    }
+
+    /**
+     * @param terms Aranan terimler; bir satır birden fazla terimi içeriyorsa her terim ayrı raporlanır
+     */
+    CompiledQuery(List<String> terms, boolean caseSensitive, boolean wholeWord,
+                  String folderPattern, String parentFolderFilter) {
+        this(terms, caseSensitive, wholeWord, folderPattern, parentFolderFilter, null, null);
+    }
+
+    /**
+     * Regex sorgusu derler. Pattern'in her eşleşmesinde geçmesi gereken en uzun literal
+     * ön filtre olarak aranır; literal çıkarılamazsa her satır regex ile kontrol edilir.
+     * @throws java.util.regex.PatternSyntaxException Geçersiz regex
+     */
+    static CompiledQuery regex(String regex, boolean caseSensitive, boolean wholeWord,
+                               String folderPattern, String parentFolderFilter) {
+        int flags = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        // Pattern önce tek başına derlenir; (?:...) sarmalı "a)(b" gibi geçersiz bir pattern'i gizleyebilir
+        Pattern pattern = Pattern.compile(regex, flags);
+        if (wholeWord) {
+            // Tam kelime: eşleşmenin önünde ve arkasında harf/rakam olmamalı (isLetterOrDigit ile aynı)
+            pattern = Pattern.compile("(?<![\\p{L}\\p{Nd}])(?:" + regex + ")(?![\\p{L}\\p{Nd}])", flags);
+        }
+
+        String literal = RegexLiterals.requiredLiteral(regex);
+        boolean literalCaseSensitive = caseSensitive && !RegexLiterals.hasCaseInsensitiveFlag(regex);
+        List<String> terms = literal.isEmpty() ? List.of() : List.of(literal);
+        return new CompiledQuery(terms, literalCaseSensitive, false, folderPattern, parentFolderFilter, pattern, regex);
+    }
+
+    private CompiledQuery(List<String> terms, boolean caseSensitive, boolean wholeWord,
+                          String folderPattern, String parentFolderFilter, Pattern regex, String regexSource) {
+        this.regex = regex;
+        this.regexSource = regexSource;
+        this.terms = List.copyOf(terms);
+        this.caseSensitive = caseSensitive;
+        this.wholeWord = wholeWord;
+        this.parentFolderFilter = parentFolderFilter;
+        this.folderPattern = compileFolderPattern(folderPattern);
+
+        int count = this.terms.size();
+        needleChars = new char[count][];
+        byte[][] bytes = new byte[count][];
+        boolean byteScannable = true;
+        boolean asciiTerms = true;
+        boolean variants = false;
+        int minLength = Integer.MAX_VALUE;
+        for (int t = 0; t < count; t++) {
+            String term = this.terms.get(t);
+            asciiTerms &= isAscii(term);
+            needleChars[t] = new char[term.length()];
+            for (int i = 0; i < term.length(); i++) {
+                needleChars[t][i] = caseSensitive ? term.charAt(i) : fold(term.charAt(i));
+            }
+
+            if (caseSensitive) {
+                bytes[t] = term.getBytes(StandardCharsets.UTF_8);
+            } else if (isAscii(term)) {
+                bytes[t] = new byte[term.length()];
+                for (int i = 0; i < term.length(); i++) {
+                    bytes[t][i] = ASCII_FOLD[term.charAt(i)];
+                    variants |= bytes[t][i] == 'i' || bytes[t][i] == 'k' || bytes[t][i] == 's';
+                }
+            }
+            if (bytes[t] == null || bytes[t].length == 0) {
+                byteScannable = false;
+            } else {
+                minLength = Math.min(minLength, bytes[t].length);
+            }
+        }
+        needleBytes = byteScannable ? bytes : null;
+        minByteLength = byteScannable ? minLength : 0;
+        needsFoldVariantCheck = variants;
+        // Tam kelime kontrolü komşu karakterleri UTF-8 olarak çözer, bu yüzden charset'e bağlıdır
+        charsetIndependentBytes = byteScannable && asciiTerms && !variants && !wholeWord;
+        byteFold = caseSensitive ? IDENTITY : ASCII_FOLD;
+
+        if (count == 1) {
+            charShift = horspoolTable(needleChars[0]);
+            byteShift = needleBytes != null ? horspoolTable(needleBytes[0]) : null;
+            byteAutomaton = null;
+            byteClass = null;
+            charAutomaton = null;
+            lowCharClass = null;
+            highChars = null;
+        } else {
+            charShift = null;
+            byteShift = null;
+            if (needleBytes != null) {
+                byteClass = new int[256];
+                int classes = 1;
+                for (byte[] needle : needleBytes) {
+                    for (byte b : needle) {
+                        if (byteClass[b & 0xFF] == 0) {
+                            byteClass[b & 0xFF] = classes++;
+                        }
+                    }
+                }
+                int[][] patterns = new int[count][];
+                for (int t = 0; t < count; t++) {
+                    patterns[t] = new int[needleBytes[t].length];
+                    for (int i = 0; i < patterns[t].length; i++) {
+                        patterns[t][i] = byteClass[needleBytes[t][i] & 0xFF];
+                    }
+                }
+                byteAutomaton = new AhoCorasick(patterns, classes);
+            } else {
+                byteClass = null;
+                byteAutomaton = null;
+            }
+
+            lowCharClass = new int[256];
+            TreeSet<Character> high = new TreeSet<>();
+            for (char[] needle : needleChars) {
+                for (char c : needle) {
+                    if (c >= 256) {
+                        high.add(c);
+                    }
+                }
+            }
+            highChars = new char[high.size()];
+            int i = 0;
+            for (char c : high) {
+                highChars[i++] = c;
+            }
+            int classes = 1 + highChars.length;
+            for (char[] needle : needleChars) {
+                for (char c : needle) {
+                    if (c < 256 && lowCharClass[c] == 0) {
+                        lowCharClass[c] = classes++;
+                    }
+                }
+            }
+            int[][] patterns = new int[count][];
+            for (int t = 0; t < count; t++) {
+                patterns[t] = new int[needleChars[t].length];
+                for (int j = 0; j < patterns[t].length; j++) {
+                    patterns[t][j] = charClass(needleChars[t][j]);
+                }
+            }
+            charAutomaton = new AhoCorasick(patterns, classes);
+        }
+    }
+
+    private static int[] horspoolTable(char[] needle) {
+        int[] shift = new int[256];
+        Arrays.fill(shift, Math.max(1, needle.length));
+        for (int i = 0; i < needle.length - 1; i++) {
+            shift[needle[i] & 0xFF] = Math.min(shift[needle[i] & 0xFF], needle.length - 1 - i);
+        }
+        return shift;
+    }
+
+    private static int[] horspoolTable(byte[] needle) {
+        int[] shift = new int[256];
+        Arrays.fill(shift, needle.length);
+        for (int i = 0; i < needle.length - 1; i++) {
+            shift[needle[i] & 0xFF] = needle.length - 1 - i;
+        }
+        return shift;
+    }
+
+    /**
+     * Katlanmış karakterin Aho-Corasick sembol sınıfı (0 = hiçbir terimde yok)
+     */
+    private int charClass(char c) {
+        if (c < 256) {
+            return lowCharClass[c];
+        }
+        int index = Arrays.binarySearch(highChars, c);
+        return index >= 0 ? index + 1 : 0;
+    }
+
+    /**
+     * Sonucu üreten terim (regex modunda kullanıcının girdiği pattern)
+     */
+    String matchedTerm(int term) {
+        return regex != null ? regexSource : terms.get(term);
+    }
+
+    /**
+     * Regex modunda literal ön filtre yoksa her satır regex ile kontrol edilmelidir
+     */
+    boolean requiresLineScan() {
+        return regex != null && terms.isEmpty();
+    }
+
+    /**
+     * Karakteri büyük/küçük harf bağımsız tek bir forma indirger (ör. I, ı, İ ve i aynı olur)
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            return (char) ASCII_FOLD[c];
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Bu sorguya uyan her satır broader sorgusuna da uyuyor mu: iki sorgu da literal ve tam kelime
+     * aramıyor, büyük/küçük harf ayarı aynı ve bu sorgunun her terimi broader'ın bir terimini içeriyor
+     * (ör. "Customer" sorgusu "Cust" sorgusunu daraltır)
+     */
+    boolean narrows(CompiledQuery broader) {
+        if (regex != null || broader.regex != null || wholeWord || broader.wholeWord
+                || caseSensitive != broader.caseSensitive || terms.isEmpty()) {
+            return false;
+        }
+        for (String term : terms) {
+            boolean covered = false;
+            for (String broaderTerm : broader.terms) {
+                if (caseSensitive ? term.contains(broaderTerm) : foldAll(term).contains(foldAll(broaderTerm))) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Metnin tüm karakterlerini fold() ile katlar
+     */
+    static String foldAll(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Klasör pattern'ini derler; * herhangi bir karakter dizisi, ? tek karakter demektir
+     */
+    private static Pattern compileFolderPattern(String pattern) {
+        if (pattern == null || pattern.isEmpty() || "*".equals(pattern)) {
+            return null;
+        }
+        String regex = pattern
+            .replace(".", "\\.")
+            .replace("?", ".")
+            .replace("*", ".*");
+        return Pattern.compile(regex.toLowerCase());
+    }
+
+    /**
+     * Klasör pattern'inin derlendiği regex; pattern "*" ise null
+     */
+    String folderPatternRegex() {
+        return folderPattern != null ? folderPattern.pattern() : null;
+    }
+
+    boolean matchesAllFolders() {
+        return folderPattern == null;
+    }
+
+    /**
+     * Klasör adının pattern'e uyup uymadığını kontrol eder
+     */
+    boolean matchesFolder(String folderName) {
+        return folderPattern == null || folderPattern.matcher(folderName.toLowerCase()).matches();
+    }
+
+    /**
+     * Dosya byte seviyesinde taranabilir mi. ASCII olmayan metinlerde veya katlandığında
+     * ASCII'ye eşit olan özel karakterleri içeren dosyalarda char seviyesinde tarama gerekir.
+     */
+    boolean canScanBytes(ByteBuffer buf, int limit) {
+        if (needleBytes == null) {
+            return false;
+        }
+        if (!needsFoldVariantCheck) {
+            return true;
+        }
+        for (int i = 0; i < limit - 1; i++) {
+            int b = buf.get(i) & 0xFF;
+            if (b == 0xC4) {
+                int next = buf.get(i + 1) & 0xFF;
+                if (next == 0xB0 || next == 0xB1) return false;       // İ, ı
+            } else if (b == 0xC5) {
+                if ((buf.get(i + 1) & 0xFF) == 0xBF) return false;    // ſ
+            } else if (b == 0xE2 && i + 2 < limit) {
+                if ((buf.get(i + 1) & 0xFF) == 0x84 && (buf.get(i + 2) & 0xFF) == 0xAA) return false; // Kelvin K
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Byte seviyesindeki eşleşmeler dosyanın charset'inden bağımsız mı. Öyleyse dosyanın UTF-8
+     * olduğunun doğrulanması ilk eşleşmeye kadar ertelenebilir; eşleşmeyen dosyalar doğrulanmaz.
+     */
+    boolean hasCharsetIndependentBytes() {
+        return charsetIndependentBytes;
+    }
+
+    /**
+     * En kısa terimin byte uzunluğu; bundan kısa dosyalarda eşleşme olamaz
+     */
+    int byteLength() {
+        return minByteLength;
+    }
+
+    /**
+     * [from, to) aralığında geçerli (tam kelime kontrolünden geçen) ilk eşleşmeyi byte seviyesinde arar
+     * @return Eşleşmenin başlangıç offset'i, yoksa -1
+     */
+    int findBytes(ByteBuffer buf, int from, int to) {
+        if (byteAutomaton != null) {
+            return scanBytes(buf, from, to, null, null);
+        }
+        byte[] needle = needleBytes[0];
+        byte[] table = byteFold;
+        int last = needle.length - 1;
+        int i = from;
+        while (i + last < to) {
+            int j = last;
+            while (j >= 0 && table[buf.get(i + j) & 0xFF] == needle[j]) {
+                j--;
+            }
+            if (j < 0 && (!wholeWord || isWordBoundary(buf, i, i + needle.length, to))) {
+                return i;
+            }
+            i += j < 0 ? 1 : byteShift[table[buf.get(i + last) & 0xFF] & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * [from, to) aralığında (bir satır) geçerli eşleşmesi olan terimleri işaretler
+     * @param starts Her terimin satırdaki ilk eşleşmesinin başlangıç offset'i buraya yazılır
+     */
+    void termsInBytes(ByteBuffer buf, int from, int to, BitSet found, int[] starts) {
+        if (byteAutomaton == null) {
+            found.set(0);
+            starts[0] = findBytes(buf, from, to);
+        } else {
+            scanBytes(buf, from, to, found, starts);
+        }
+    }
+
+    /**
+     * Terimin aranan byte dizisinin uzunluğu
+     */
+    int termByteLength(int term) {
+        return needleBytes[term].length;
+    }
+
+    /**
+     * Aho-Corasick taraması; found null ise ilk geçerli eşleşmede durur
+     */
+    private int scanBytes(ByteBuffer buf, int from, int to, BitSet found, int[] starts) {
+        AhoCorasick automaton = byteAutomaton;
+        byte[] table = byteFold;
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = automaton.next(state, byteClass[table[buf.get(i) & 0xFF] & 0xFF]);
+            int match = automaton.output(state) >= 0 ? state : automaton.outputLink(state);
+            while (match >= 0) {
+                int term = automaton.output(match);
+                int start = i + 1 - needleBytes[term].length;
+                if (!wholeWord || isWordBoundary(buf, start, i + 1, to)) {
+                    if (found == null) {
+                        return start;
+                    }
+                    if (!found.get(term)) {
+                        found.set(term);
+                        starts[term] = start;
+                    }
+                }
+                match = automaton.outputLink(match);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * [from, to) aralığında geçerli ilk eşleşmeyi char seviyesinde arar
+     * @return Eşleşmenin başlangıç index'i, yoksa -1
+     */
+    int findChars(char[] text, int from, int to) {
+        if (charAutomaton != null) {
+            return scanChars(text, from, to, null, null);
+        }
+        char[] needle = needleChars[0];
+        if (needle.length == 0) {
+            return -1;
+        }
+        int last = needle.length - 1;
+        int i = from;
+        while (i + last < to) {
+            int j = last;
+            while (j >= 0 && foldIfNeeded(text[i + j]) == needle[j]) {
+                j--;
+            }
+            if (j < 0 && (!wholeWord || isWordBoundary(text, i, i + needle.length, to))) {
+                return i;
+            }
+            i += j < 0 ? 1 : charShift[foldIfNeeded(text[i + last]) & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * [from, to) aralığında (bir satır) geçerli eşleşmesi olan terimleri işaretler
+     * @param starts Her terimin satırdaki ilk eşleşmesinin başlangıç index'i buraya yazılır
+     */
+    void termsInChars(char[] text, int from, int to, BitSet found, int[] starts) {
+        if (charAutomaton == null) {
+            found.set(0);
+            starts[0] = findChars(text, from, to);
+        } else {
+            scanChars(text, from, to, found, starts);
+        }
+    }
+
+    /**
+     * Terimin aranan char dizisinin uzunluğu
+     */
+    int termCharLength(int term) {
+        return needleChars[term].length;
+    }
+
+    private int scanChars(char[] text, int from, int to, BitSet found, int[] starts) {
+        AhoCorasick automaton = charAutomaton;
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = automaton.next(state, charClass(foldIfNeeded(text[i])));
+            int match = automaton.output(state) >= 0 ? state : automaton.outputLink(state);
+            while (match >= 0) {
+                int term = automaton.output(match);
+                int start = i + 1 - needleChars[term].length;
+                if (!wholeWord || isWordBoundary(text, start, i + 1, to)) {
+                    if (found == null) {
+                        return start;
+                    }
+                    if (!found.get(term)) {
+                        found.set(term);
+                        starts[term] = start;
+                    }
+                }
+                match = automaton.outputLink(match);
+            }
+        }
+        return -1;
+    }
+
+    private char foldIfNeeded(char c) {
+        return caseSensitive ? c : fold(c);
+    }
+
+    private static boolean isWordBoundary(char[] text, int start, int end, int limit) {
+        boolean startOk = start == 0 || !Character.isLetterOrDigit(text[start - 1]);
+        boolean endOk = end >= limit || !Character.isLetterOrDigit(text[end]);
+        return startOk && endOk;
+    }
+
+    private static boolean isWordBoundary(ByteBuffer buf, int start, int end, int limit) {
+        boolean startOk = start == 0 || !Character.isLetterOrDigit(codePointBefore(buf, start));
+        boolean endOk = end >= limit || !Character.isLetterOrDigit(codePointAt(buf, end, limit));
+        return startOk && endOk;
+    }
+
+    /**
+     * pos'tan önce biten UTF-8 karakterini çözer
+     */
+    private static int codePointBefore(ByteBuffer buf, int pos) {
+        int b = buf.get(pos - 1) & 0xFF;
+        if (b < 0x80) {
+            return b;
+        }
+        int start = pos - 1;
+        while (start > 0 && start > pos - 4 && (buf.get(start) & 0xC0) == 0x80) {
+            start--;
+        }
+        return codePointAt(buf, start, pos);
+    }
+
+    /**
+     * pos'ta başlayan UTF-8 karakterini çözer; geçersiz dizilerde harf olmayan bir değer döner
+     */
+    private static int codePointAt(ByteBuffer buf, int pos, int limit) {
+        int b = buf.get(pos) & 0xFF;
+        if (b < 0x80) {
+            return b;
+        }
+        int length;
+        int cp;
+        if ((b & 0xE0) == 0xC0) {
+            length = 2;
+            cp = b & 0x1F;
+        } else if ((b & 0xF0) == 0xE0) {
+            length = 3;
+            cp = b & 0x0F;
+        } else if ((b & 0xF8) == 0xF0) {
+            length = 4;
+            cp = b & 0x07;
+        } else {
+            return ' ';
+        }
+        if (pos + length > limit) {
+            return ' ';
+        }
+        for (int i = 1; i < length; i++) {
+            int next = buf.get(pos + i) & 0xFF;
+            if ((next & 0xC0) != 0x80) {
+                return ' ';
+            }
+            cp = (cp << 6) | (next & 0x3F);
+        }
+        return cp;
+    }
+}
@@ -1,9 +1,24 @@
 package tr.com.envapp.search;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 /**
@@ -16,10 +31,27 @@ import java.util.stream.Collectors;
  *   java -jar EntitySearch.jar <path> <aranacak_string> [klasör_pattern]
  *   java -jar EntitySearch.jar (interaktif mod)
  *
+ * Birden fazla terim virgülle ayrılarak verilebilir; ağaç tek kez taranır ve her sonuç
+ * eşleşen terimle birlikte yazdırılır. --regex verilirse aranan metin tek bir regex
+ * pattern'i olarak yorumlanır.
+ *
+ * .gitignore ve .ignore dosyalarındaki kurallara uyulur (--no-ignore ile kapatılır).
+ * --include=<glob> ve --exclude=<glob> birden fazla kez verilebilir; include verilirse
+ * uzantı listesi yerine yalnızca glob'a uyan dosyalar taranır.
+ *
  * Örnek:
  *   java -jar EntitySearch.jar "C:\Projects" "CustomerEntity"
  *   java -jar EntitySearch.jar "C:\Projects" "CustomerEntity" "his-api-*"
  *   java -jar EntitySearch.jar "C:\Projects" "CustomerEntity" "*-service"
+ *   java -jar EntitySearch.jar "C:\Projects" "CustomerEntity,CustomerDto,CustomerRepository"
+ *   java -jar EntitySearch.jar --regex "C:\Projects" "@Table\(name\s*=\s*\"CUST_.*\""
+ *   java -jar EntitySearch.jar --include=*.vue --exclude=generated/ "C:\Projects" "CustomerEntity"
+ *
+ * Toplu mod (CI için): --batch=<sorgular.jsonl> verilirse sorgu dosyasındaki aramalar etkileşimsiz
+ * çalıştırılır ve sonuçlar JSON Lines (varsayılan) veya CSV olarak yazılır; bkz. BatchSearch.
+ * --format=jsonl|csv, --output=<dosya> (varsayılan standart çıktı). Çıkış kodu: 0 = sonuç bulundu,
+ * 1 = hiçbir sorgu sonuç bulmadı, 2 = hata.
+ *   java -jar EntitySearch.jar --batch=queries.jsonl --format=csv --output=results.csv "C:\Projects"
  */
 public class EntitySearchApp {
 
@@ -30,6 +62,12 @@ public class EntitySearchApp {
         "╚═══════════════════════════════════════════════════════════╝\n";
 
     public static void main(String[] args) {
+        // Toplu modda banner ve mesajlar yazılmaz; standart çıktı yalnızca sonuçlardır
+        List<String> batchFiles = optionValues(args, "--batch=");
+        if (!batchFiles.isEmpty()) {
+            System.exit(runBatch(args, batchFiles.get(0)));
+        }
+
         // Ctrl+C ile düzgün çıkış için shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("\n\n⛔ Uygulama kullanıcı tarafından durduruldu.");
@@ -39,6 +77,16 @@ public class EntitySearchApp {
         System.out.println(BANNER);
         System.out.println("💡 İpucu: Çıkmak için Ctrl+C tuşlarına basın.\n");
 
+        // Seçenekler konumdan bağımsızdır, kalan argümanlar sırayla yorumlanır
+        boolean regex = Arrays.asList(args).contains("--regex");
+        boolean useIgnoreFiles = !Arrays.asList(args).contains("--no-ignore");
+        List<String> includeGlobs = optionValues(args, "--include=");
+        List<String> excludeGlobs = optionValues(args, "--exclude=");
+        args = Arrays.stream(args)
+            .filter(arg -> !"--regex".equals(arg) && !"--no-ignore".equals(arg)
+                && !arg.startsWith("--include=") && !arg.startsWith("--exclude="))
+            .toArray(String[]::new);
+
         String path;
         String searchString;
         String folderPattern;
@@ -55,7 +103,7 @@ public class EntitySearchApp {
             System.out.print("Arama yapılacak klasör yolu: ");
             path = scanner.nextLine().trim();
 
-            System.out.print("Aranacak string: ");
+            System.out.print("Aranacak string (birden fazla terim için virgülle ayırın): ");
             searchString = scanner.nextLine().trim();
 
             System.out.print("Klasör pattern (* = tümü, his-api-* = his-api ile başlayanlar): ");
@@ -70,18 +118,129 @@ public class EntitySearchApp {
             System.exit(1);
         }
 
+        // Regex'te virgül pattern'in parçası olabilir ({1,3} gibi), bölünmez
+        List<String> terms = regex ? List.of(searchString) : parseTerms(searchString);
+        if (terms.isEmpty()) {
+            System.err.println("Hata: Path ve aranacak string boş olamaz!");
+            System.exit(1);
+        }
+
+        EntitySearchService searchService = new EntitySearchService();
+        searchService.setUseIgnoreFiles(useIgnoreFiles);
+        searchService.setIncludeGlobs(includeGlobs);
+        searchService.setExcludeGlobs(excludeGlobs);
+        // Tek aramalık süreçte önbellek işe yaramaz; sonuçlar bellekte biriktirilmeden yazdırılır
+        searchService.setUseResultCache(false);
+
         // Arama işlemini başlat
-        performSearch(path, searchString, folderPattern);
+        performSearch(searchService, path, terms, folderPattern, regex);
+    }
+
+    /**
+     * Toplu modu çalıştırır
+     * @return Sürecin çıkış kodu
+     */
+    private static int runBatch(String[] args, String queryFile) {
+        boolean regex = Arrays.asList(args).contains("--regex");
+        boolean useIgnoreFiles = !Arrays.asList(args).contains("--no-ignore");
+        List<String> includeGlobs = optionValues(args, "--include=");
+        List<String> excludeGlobs = optionValues(args, "--exclude=");
+        List<String> formats = optionValues(args, "--format=");
+        List<String> outputs = optionValues(args, "--output=");
+        List<String> paths = Arrays.stream(args)
+            .filter(arg -> !arg.startsWith("--"))
+            .collect(Collectors.toList());
+
+        if (paths.size() != 1) {
+            System.err.println("Hata: Toplu modda yalnızca arama yapılacak klasör yolu verilmelidir");
+            return BatchSearch.EXIT_ERROR;
+        }
+        String path = paths.get(0);
+        if (!new File(path).isDirectory()) {
+            System.err.println("Hata: Belirtilen path bir klasör değil: " + path);
+            return BatchSearch.EXIT_ERROR;
+        }
+
+        BatchSearch.Format format;
+        List<BatchSearch.Query> queries;
+        try {
+            format = formats.isEmpty() ? BatchSearch.Format.JSONL : BatchSearch.Format.parse(formats.get(0));
+            queries = BatchSearch.readQueries(Paths.get(queryFile), regex);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Hata: " + e.getMessage());
+            return BatchSearch.EXIT_ERROR;
+        } catch (IOException e) {
+            System.err.println("Hata: Sorgu dosyası okunamadı: " + queryFile + " - " + e.getMessage());
+            return BatchSearch.EXIT_ERROR;
+        }
+
+        BatchSearch batch = new BatchSearch(path, format, () -> {
+            EntitySearchService service = new EntitySearchService();
+            service.setUseIgnoreFiles(useIgnoreFiles);
+            service.setIncludeGlobs(includeGlobs);
+            service.setExcludeGlobs(excludeGlobs);
+            service.setUseResultCache(false);
+            return service;
+        });
+
+        // Standart akışlar kapatılmaz, yalnızca flush edilir
+        Writer summary = new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+        try {
+            Writer out = outputs.isEmpty()
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedWriter(Paths.get(outputs.get(0)), StandardCharsets.UTF_8);
+            int exitCode = batch.run(queries, out, summary);
+            if (!outputs.isEmpty()) {
+                out.close();
+            }
+            return exitCode;
+        } catch (IOException e) {
+            System.err.println("Hata: Sonuçlar yazılamadı - " + e.getMessage());
+            return BatchSearch.EXIT_ERROR;
+        }
+    }
+
+    /**
+     * "--ad=değer" biçimindeki, tekrarlanabilen bir seçeneğin değerleri
+     */
+    private static List<String> optionValues(String[] args, String prefix) {
+        List<String> values = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(prefix) && arg.length() > prefix.length()) {
+                values.add(arg.substring(prefix.length()));
+            }
+        }
+        return values;
     }
 
-    private static void performSearch(String path, String searchString, String folderPattern) {
+    /**
+     * Virgülle ayrılmış terimleri ayrıştırır (boş ve tekrar eden terimler atlanır)
+     */
+    private static List<String> parseTerms(String searchString) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : searchString.split(",")) {
+            if (!term.trim().isEmpty()) {
+                terms.add(term.trim());
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static void performSearch(EntitySearchService searchService, String path, List<String> terms,
+                                      String folderPattern, boolean regex) {
         System.out.println("\n🔍 Arama başlatılıyor...");
         System.out.println("   Path: " + path);
-        System.out.println("   Aranan: \"" + searchString + "\"");
+        if (regex) {
+            System.out.println("   Regex: " + terms.get(0));
+        } else if (terms.size() == 1) {
+            System.out.println("   Aranan: \"" + terms.get(0) + "\"");
+        } else {
+            System.out.println("   Aranan terimler (" + terms.size() + "): " + String.join(", ", terms));
+        }
         System.out.println("   Klasör Pattern: " + folderPattern);
         System.out.println(repeatString("─", 60));
 
-        EntitySearchService searchService = new EntitySearchService();
+        searchService.setRegex(regex);
 
 
         // Tarama sırasında klasör durumunu göster
@@ -94,70 +253,115 @@ public class EntitySearchApp {
             }
         });
 
-        long startTime = System.currentTimeMillis();
+        // Son ilerleme görüntüsü özet satırında kullanılır
+        AtomicReference<SearchProgress> lastProgress = new AtomicReference<>();
+        searchService.setProgressListener(lastProgress::set);
 
-        List<SearchResult> results = searchService.search(path, searchString, folderPattern);
+        long startTime = System.currentTimeMillis();
 
-        System.out.println();
+        // Sonuçlar bulundukça yazdırılır, hepsi bellekte biriktirilmez
+        StreamingPrinter printer = new StreamingPrinter(terms);
+        int resultCount;
+        try {
+            resultCount = searchService.search(path, terms, folderPattern, null, printer);
+        } catch (PatternSyntaxException e) {
+            System.err.println("Hata: Geçersiz regex - " + e.getDescription());
+            System.exit(1);
+            return;
+        }
+        printer.finish();
 
         long endTime = System.currentTimeMillis();
         long duration = endTime - startTime;
 
-        if (results.isEmpty()) {
+        if (resultCount == 0) {
             System.out.println("\n⚠️  Sonuç bulunamadı!");
         } else {
-            printResults(results);
+            printSummary(printer.countsByFile, printer.countsByTerm);
         }
 
         System.out.println("\n" + repeatString("─", 60));
         System.out.printf("✅ Arama tamamlandı! %d sonuç bulundu. (Süre: %d ms)%n",
-            results.size(), duration);
+            resultCount, duration);
+        SearchProgress progress = lastProgress.get();
+        if (progress != null) {
+            System.out.printf("   %d dosya, %.1f MB okundu (%.1f MB/s)%n",
+                progress.getFilesScanned(), progress.getBytesRead() / (1024.0 * 1024.0),
+                progress.getMegabytesPerSecond());
+        }
     }
 
-    private static void printResults(List<SearchResult> results) {
-        System.out.println("\n📁 BULUNAN SONUÇLAR:\n");
-
-        // Dosyalara göre grupla
-        Map<String, List<SearchResult>> groupedByFile = results.stream()
-            .collect(Collectors.groupingBy(SearchResult::getFilePath));
-
-        int fileCount = 0;
-        for (Map.Entry<String, List<SearchResult>> entry : groupedByFile.entrySet()) {
-            fileCount++;
-            String filePath = entry.getKey();
-            List<SearchResult> fileResults = entry.getValue();
-
-            System.out.println("┌─ Dosya #" + fileCount + ": " + filePath);
-            System.out.println("│  Toplam " + fileResults.size() + " eşleşme bulundu");
+    /**
+     * Sonuçları geldikleri sırada dosya bloklarına ayırarak yazdırır.
+     * Servis bir dosyanın sonuçlarını ardışık ilettiği için dosya değişimi blok sonu demektir.
+     */
+    private static class StreamingPrinter implements EntitySearchService.ResultListener {
+        private final Map<String, Integer> countsByFile = new LinkedHashMap<>();
+        private final Map<String, Integer> countsByTerm = new LinkedHashMap<>();
+        private final boolean showTerm;
+        private String currentFile;
+        private int currentCount;
+
+        StreamingPrinter(List<String> terms) {
+            this.showTerm = terms.size() > 1;
+            if (showTerm) {
+                // Hiç eşleşmeyen terimler de özette görünsün
+                terms.forEach(term -> countsByTerm.put(term, 0));
+            }
+        }
 
-            for (SearchResult result : fileResults) {
-                String lineContent = result.getLineContent().trim();
-                // Uzun satırları kısalt
-                if (lineContent.length() > 100) {
-                    lineContent = lineContent.substring(0, 97) + "...";
+        @Override
+        public boolean onResult(SearchResult result) {
+            if (!result.getFilePath().equals(currentFile)) {
+                finish();
+                if (countsByFile.isEmpty()) {
+                    System.out.println("\n📁 BULUNAN SONUÇLAR:\n");
                 }
+                currentFile = result.getFilePath();
+                System.out.println("┌─ Dosya #" + (countsByFile.size() + 1) + ": " + currentFile);
+            }
+
+            // Uzun satırları kısalt (eşleşme satırın sonlarındaysa çevresi gösterilir)
+            String lineContent = result.getPreview(100);
+            if (showTerm) {
+                System.out.printf("│    ├─ Satır %d [%s]: %s%n", result.getLineNumber(), result.getMatchedTerm(), lineContent);
+                countsByTerm.merge(result.getMatchedTerm(), 1, Integer::sum);
+            } else {
                 System.out.printf("│    ├─ Satır %d: %s%n", result.getLineNumber(), lineContent);
             }
+            currentCount++;
+            return true;
+        }
+
+        void finish() {
+            if (currentFile == null) return;
+            System.out.println("│  Toplam " + currentCount + " eşleşme bulundu");
             System.out.println("└" + repeatString("─", 59));
             System.out.println();
+            countsByFile.merge(currentFile, currentCount, Integer::sum);
+            currentFile = null;
+            currentCount = 0;
         }
-
-        // Özet bilgi
-        printSummary(groupedByFile);
     }
 
-    private static void printSummary(Map<String, List<SearchResult>> groupedByFile) {
+    private static void printSummary(Map<String, Integer> countsByFile, Map<String, Integer> countsByTerm) {
         System.out.println("\n📊 ÖZET:");
-        System.out.println("   Toplam dosya sayısı: " + groupedByFile.size());
+        System.out.println("   Toplam dosya sayısı: " + countsByFile.size());
 
-        int totalMatches = groupedByFile.values().stream()
-            .mapToInt(List::size)
+        int totalMatches = countsByFile.values().stream()
+            .mapToInt(Integer::intValue)
             .sum();
         System.out.println("   Toplam eşleşme sayısı: " + totalMatches);
 
+        if (!countsByTerm.isEmpty()) {
+            System.out.println("\n   Terimlere göre dağılım:");
+            countsByTerm.forEach((term, count) ->
+                System.out.printf("      • %s: %d eşleşme%n", term, count));
+        }
+
         // Dosya türlerine göre dağılım
         Map<String, Long> extensionCount = new HashMap<>();
-        for (String filePath : groupedByFile.keySet()) {
+        for (String filePath : countsByFile.keySet()) {
             String extension = getFileExtension(filePath);
             extensionCount.merge(extension, 1L, Long::sum);
         }
@@ -9,9 +9,12 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -30,16 +33,29 @@ import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.Style;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
-import javax.swing.text.StyledDocument;
 
 /**
  * Entity Search - Swing GUI (FlatLaf Dark Theme)
  */
 public class EntitySearchGUI extends JFrame {
 
+    // Arama sürerken canli gosterilecek en fazla sonuc sayisi
+    private static final int LIVE_RESULT_LIMIT = 500;
+    // Sonuc satirlarinin gosterilen en fazla uzunlugu
+    private static final int PREVIEW_LENGTH = 80;
+
+    // Stil tanimlari; belgeden bagimsiz oldugu icin EDT disinda da kullanilabilir
+    private static final AttributeSet DEFAULT_STYLE = textStyle(Color.WHITE, 12, false);
+    private static final AttributeSet HEADER_STYLE = textStyle(new Color(100, 200, 255), 12, true);
+    private static final AttributeSet PROJECT_STYLE = textStyle(new Color(255, 200, 100), 14, true);
+    private static final AttributeSet FILE_STYLE = textStyle(new Color(144, 238, 144), 12, false);
+    private static final AttributeSet HIGHLIGHT_STYLE = highlightStyle();
+
     private JTextField pathField;
     private JTextField searchStringField;
     private JTextField patternField;
@@ -52,10 +68,11 @@ public class EntitySearchGUI extends JFrame {
     private JButton clearButton;
     private JLabel statusLabel;
     private JProgressBar progressBar;
-    private SwingWorker<List<SearchResult>, Void> currentWorker;
-    private String currentSearchString;
-    private boolean currentCaseSensitive;
-    private boolean currentWholeWord;
+    private SwingWorker<ResultDocument, SearchResult> currentWorker;
+    private volatile EntitySearchService currentService;
+    // Servisten gelen son ilerleme; EDT'ye en fazla bir aktarim bekler
+    private final AtomicReference<SearchProgress> latestProgress = new AtomicReference<>();
+    private final AtomicBoolean progressScheduled = new AtomicBoolean();
 
     public EntitySearchGUI() {
         initLookAndFeel();
@@ -98,7 +115,7 @@ public class EntitySearchGUI extends JFrame {
         wholeWordCheckBox.setToolTipText("Sadece tam kelime eslesmesi (Adres arandiginda kimlikAdresi bulunamaz)");
 
         // Text areas
-        resultArea = new JTextPane();
+        resultArea = new JTextPane(new ResultDocument());
         resultArea.setEditable(false);
         resultArea.setFont(new Font("Consolas", Font.PLAIN, 12));
         resultArea.setBackground(new Color(43, 43, 43));
@@ -119,7 +136,7 @@ public class EntitySearchGUI extends JFrame {
         clearButton.setFont(new Font("Dialog", Font.PLAIN, 14));
 
         // Progress & Status
-        progressBar = new JProgressBar();
+        progressBar = new JProgressBar(0, 1000);
         progressBar.setIndeterminate(true);
         progressBar.setVisible(false);
 
@@ -255,6 +272,10 @@ public class EntitySearchGUI extends JFrame {
     private void stopSearch() {
         if (currentWorker != null && !currentWorker.isDone()) {
             currentWorker.cancel(true);
+            // Servis taramayı bir sonraki dosyada bırakır, arkada çalışan tarama kalmaz
+            if (currentService != null) {
+                currentService.cancel();
+            }
             statusLabel.setText("Arama durduruldu!");
             searchButton.setEnabled(true);
             stopButton.setEnabled(false);
@@ -262,6 +283,35 @@ public class EntitySearchGUI extends JFrame {
         }
     }
 
+    /**
+     * Son ilerleme bilgisini saklar; EDT'ye bekleyen bir aktarim yoksa bir tane planlar
+     */
+    private void enqueueProgress(SearchProgress progress) {
+        latestProgress.set(progress);
+        if (progressScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::applyProgress);
+        }
+    }
+
+    private void applyProgress() {
+        progressScheduled.set(false);
+        SearchProgress progress = latestProgress.getAndSet(null);
+        if (progress == null || currentWorker == null || currentWorker.isDone()) {
+            return;
+        }
+        double fraction = progress.getFraction();
+        if (fraction < 0) {
+            progressBar.setIndeterminate(true);
+        } else {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) (fraction * 1000));
+        }
+        String total = progress.getEstimatedTotalFiles() >= 0 ? "/" + progress.getEstimatedTotalFiles() : "";
+        statusLabel.setText(String.format("Arama yapiliyor... %d%s dosya, %.1f MB (%.1f MB/s), %d sonuc",
+            progress.getFilesScanned(), total, progress.getBytesRead() / (1024.0 * 1024.0),
+            progress.getMegabytesPerSecond(), progress.getHits()));
+    }
+
     private void browseFolder() {
         JFileChooser chooser = new JFileChooser();
         chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
@@ -300,29 +350,64 @@ public class EntitySearchGUI extends JFrame {
         // UI hazirla
         searchButton.setEnabled(false);
         stopButton.setEnabled(true);
+        progressBar.setIndeterminate(true);
         progressBar.setVisible(true);
-        resultArea.setText("");
+        ResultDocument liveDocument = new ResultDocument();
+        resultArea.setStyledDocument(liveDocument);
         statusLabel.setText("Arama yapiliyor...");
-        currentSearchString = searchString;
-        currentCaseSensitive = caseSensitiveCheckBox.isSelected();
-        currentWholeWord = wholeWordCheckBox.isSelected();
 
         final String finalPattern = pattern;
         final String finalFolderFilter = folderFilter.isEmpty() ? null : folderFilter;
-        final boolean finalCaseSensitive = currentCaseSensitive;
-        final boolean finalWholeWord = currentWholeWord;
+        final boolean finalCaseSensitive = caseSensitiveCheckBox.isSelected();
+        final boolean finalWholeWord = wholeWordCheckBox.isSelected();
 
-        // Arka planda arama yap
+        // Arka planda arama yap; sonuc belgesi de arka planda olusturulup tek seferde takilir
         currentWorker = new SwingWorker<>() {
             long startTime;
+            long duration;
+            int resultCount;
+            int liveCount;
 
             @Override
-            protected List<SearchResult> doInBackground() {
+            protected ResultDocument doInBackground() throws BadLocationException {
                 startTime = System.currentTimeMillis();
                 EntitySearchService searchService = new EntitySearchService();
+                currentService = searchService;
                 searchService.setCaseSensitive(finalCaseSensitive);
                 searchService.setWholeWord(finalWholeWord);
-                return searchService.search(path, searchString, finalPattern, finalFolderFilter);
+                searchService.setProgressListener(progress -> {
+                    if (!isCancelled()) {
+                        enqueueProgress(progress);
+                    }
+                });
+                List<SearchResult> collected = new ArrayList<>();
+                // Satirlarin tamami tutulmaz; belge icin yalnizca kisaltilmis hali saklanir
+                Map<SearchResult, String> previews = new IdentityHashMap<>();
+                searchService.search(path, searchString, finalPattern, finalFolderFilter, result -> {
+                    if (isCancelled()) {
+                        return false;
+                    }
+                    collected.add(result);
+                    previews.put(result, result.getPreview(PREVIEW_LENGTH));
+                    // publish cagrilari EDT'ye toplu olarak aktarilir
+                    publish(result);
+                    return true;
+                });
+                duration = System.currentTimeMillis() - startTime;
+                resultCount = collected.size();
+                if (isCancelled()) {
+                    return null;
+                }
+                return buildResultDocument(collected, previews, duration, searchString, finalCaseSensitive, finalWholeWord);
+            }
+
+            @Override
+            protected void process(List<SearchResult> chunk) {
+                if (isCancelled() || isDone()) {
+                    return;
+                }
+                appendLiveResults(liveDocument, chunk, liveCount, searchString, finalCaseSensitive, finalWholeWord);
+                liveCount += chunk.size();
             }
 
             @Override
@@ -331,10 +416,9 @@ public class EntitySearchGUI extends JFrame {
                     if (isCancelled()) {
                         return;
                     }
-                    List<SearchResult> results = get();
-                    long duration = System.currentTimeMillis() - startTime;
-                    displayResults(results, duration);
-                    statusLabel.setText("Arama tamamlandi! " + results.size() + " sonuc bulundu. (" + duration + " ms)");
+                    resultArea.setStyledDocument(get());
+                    resultArea.setCaretPosition(0);
+                    statusLabel.setText("Arama tamamlandi! " + resultCount + " sonuc bulundu. (" + duration + " ms)");
                 } catch (Exception ex) {
                     if (!isCancelled()) {
                         showError("Arama sirasinda hata olustu: " + ex.getMessage());
@@ -351,159 +435,108 @@ public class EntitySearchGUI extends JFrame {
         currentWorker.execute();
     }
 
-    private void displayResults(List<SearchResult> results, long duration) {
-        StyledDocument doc = resultArea.getStyledDocument();
-        String basePath = pathField.getText().trim();
-
-        // Stil tanımları
-        Style defaultStyle = resultArea.addStyle("default", null);
-        StyleConstants.setForeground(defaultStyle, Color.WHITE);
-        StyleConstants.setFontFamily(defaultStyle, "Consolas");
-        StyleConstants.setFontSize(defaultStyle, 12);
-
-        Style highlightStyle = resultArea.addStyle("highlight", null);
-        StyleConstants.setBackground(highlightStyle, Color.YELLOW);
-        StyleConstants.setForeground(highlightStyle, Color.BLACK);
-        StyleConstants.setFontFamily(highlightStyle, "Consolas");
-        StyleConstants.setFontSize(highlightStyle, 12);
-        StyleConstants.setBold(highlightStyle, true);
-
-        Style headerStyle = resultArea.addStyle("header", null);
-        StyleConstants.setForeground(headerStyle, new Color(100, 200, 255));
-        StyleConstants.setFontFamily(headerStyle, "Consolas");
-        StyleConstants.setFontSize(headerStyle, 12);
-        StyleConstants.setBold(headerStyle, true);
-
-        Style projectStyle = resultArea.addStyle("project", null);
-        StyleConstants.setForeground(projectStyle, new Color(255, 200, 100));
-        StyleConstants.setFontFamily(projectStyle, "Consolas");
-        StyleConstants.setFontSize(projectStyle, 14);
-        StyleConstants.setBold(projectStyle, true);
-
-        Style fileStyle = resultArea.addStyle("file", null);
-        StyleConstants.setForeground(fileStyle, new Color(144, 238, 144));
-        StyleConstants.setFontFamily(fileStyle, "Consolas");
-        StyleConstants.setFontSize(fileStyle, 12);
+    /**
+     * Gruplu sonuc gorunumunu bagimsiz bir belgede olusturur (EDT disinda calisir)
+     */
+    private ResultDocument buildResultDocument(List<SearchResult> results, Map<SearchResult, String> previews,
+                                               long duration, String searchString,
+                                               boolean caseSensitive, boolean wholeWord)
+            throws BadLocationException {
+        ResultDocument doc = new ResultDocument();
+
+        if (results.isEmpty()) {
+            doc.append("Sonuc bulunamadi!\n", DEFAULT_STYLE);
+            doc.flush();
+            return doc;
+        }
 
-        try {
-            if (results.isEmpty()) {
-                doc.insertString(doc.getLength(), "Sonuc bulunamadi!\n", defaultStyle);
-            } else {
-                doc.insertString(doc.getLength(), "=".repeat(70) + "\n", headerStyle);
-                doc.insertString(doc.getLength(), "BULUNAN SONUCLAR\n", headerStyle);
-                doc.insertString(doc.getLength(), "=".repeat(70) + "\n\n", headerStyle);
-
-                // Önce projeye göre grupla, sonra dosyaya göre
-                Map<String, Map<String, List<SearchResult>>> groupedByProject = results.stream()
-                    .collect(Collectors.groupingBy(
-                        r -> extractProjectName(r.getFilePath(), basePath),
-                        Collectors.groupingBy(SearchResult::getFilePath)
-                    ));
-
-                int projectCount = 0;
-                int totalFiles = 0;
-
-                for (Map.Entry<String, Map<String, List<SearchResult>>> projectEntry : groupedByProject.entrySet()) {
-                    projectCount++;
-                    String projectName = projectEntry.getKey();
-                    Map<String, List<SearchResult>> filesInProject = projectEntry.getValue();
-
-                    int projectResultCount = filesInProject.values().stream().mapToInt(List::size).sum();
-
-                    // Proje başlığı
-                    doc.insertString(doc.getLength(), "\n📁 ", defaultStyle);
-                    doc.insertString(doc.getLength(), projectName, projectStyle);
-                    doc.insertString(doc.getLength(), " (" + projectResultCount + " sonuc, " + filesInProject.size() + " dosya)\n", defaultStyle);
-                    doc.insertString(doc.getLength(), "│\n", defaultStyle);
-
-                    int fileIndex = 0;
-                    for (Map.Entry<String, List<SearchResult>> fileEntry : filesInProject.entrySet()) {
-                        fileIndex++;
-                        totalFiles++;
-                        String filePath = fileEntry.getKey();
-                        List<SearchResult> fileResults = fileEntry.getValue();
-
-                        // Dosya yolunu kısalt (proje adından sonraki kısmı göster)
-                        String shortPath = getShortFilePath(filePath, basePath, projectName);
-
-                        String filePrefix = (fileIndex == filesInProject.size()) ? "└── " : "├── ";
-                        String linePrefix = (fileIndex == filesInProject.size()) ? "    " : "│   ";
-
-                        doc.insertString(doc.getLength(), filePrefix, defaultStyle);
-                        doc.insertString(doc.getLength(), shortPath, fileStyle);
-                        doc.insertString(doc.getLength(), " (" + fileResults.size() + " eslesme)\n", defaultStyle);
-
-                        for (int i = 0; i < fileResults.size(); i++) {
-                            SearchResult result = fileResults.get(i);
-                            String lineContent = result.getLineContent().trim();
-                            if (lineContent.length() > 80) {
-                                lineContent = lineContent.substring(0, 77) + "...";
-                            }
-
-                            String resultPrefix = (i == fileResults.size() - 1) ? "└─ " : "├─ ";
-                            doc.insertString(doc.getLength(), linePrefix + resultPrefix + "Satir " + result.getLineNumber() + ": ", defaultStyle);
-
-                            // Highlight aranan metni
-                            appendHighlightedText(doc, lineContent, currentSearchString, defaultStyle, highlightStyle);
-                            doc.insertString(doc.getLength(), "\n", defaultStyle);
-                        }
-                    }
-                }
+        doc.append("=".repeat(70) + "\n", HEADER_STYLE);
+        doc.append("BULUNAN SONUCLAR\n", HEADER_STYLE);
+        doc.append("=".repeat(70) + "\n\n", HEADER_STYLE);
 
-                // Ozet
-                doc.insertString(doc.getLength(), "\n" + "=".repeat(70) + "\n", headerStyle);
-                doc.insertString(doc.getLength(), "OZET\n", headerStyle);
-                doc.insertString(doc.getLength(), "=".repeat(70) + "\n", headerStyle);
-                doc.insertString(doc.getLength(), "   Toplam proje sayisi: " + groupedByProject.size() + "\n", defaultStyle);
-                doc.insertString(doc.getLength(), "   Toplam dosya sayisi: " + totalFiles + "\n", defaultStyle);
-                doc.insertString(doc.getLength(), "   Toplam eslesme sayisi: " + results.size() + "\n", defaultStyle);
-                doc.insertString(doc.getLength(), "   Sure: " + duration + " ms\n", defaultStyle);
-            }
-        } catch (BadLocationException e) {
-            e.printStackTrace();
-        }
+        // Önce projeye göre grupla, sonra dosyaya göre (dosya id'leri üzerinden)
+        List<ResultGroups.ProjectGroup> groupedByProject = ResultGroups.group(results);
 
-        resultArea.setCaretPosition(0);
-    }
+        int totalFiles = 0;
 
-    private String extractProjectName(String filePath, String basePath) {
-        // basePath'ten sonraki ilk klasörü proje adı olarak al
-        String normalizedFile = filePath.replace("\\", "/");
-        String normalizedBase = basePath.replace("\\", "/");
+        for (ResultGroups.ProjectGroup project : groupedByProject) {
+            List<ResultGroups.FileGroup> filesInProject = project.files;
 
-        if (!normalizedBase.endsWith("/")) {
-            normalizedBase += "/";
-        }
+            // Proje başlığı
+            doc.append("\n📁 ", DEFAULT_STYLE);
+            doc.append(project.name, PROJECT_STYLE);
+            doc.append(" (" + project.hitCount + " sonuc, " + filesInProject.size() + " dosya)\n", DEFAULT_STYLE);
+            doc.append("│\n", DEFAULT_STYLE);
+
+            int fileIndex = 0;
+            for (ResultGroups.FileGroup file : filesInProject) {
+                fileIndex++;
+                totalFiles++;
+                List<SearchResult> fileResults = file.hits;
+
+                String filePrefix = (fileIndex == filesInProject.size()) ? "└── " : "├── ";
+                String linePrefix = (fileIndex == filesInProject.size()) ? "    " : "│   ";
 
-        if (normalizedFile.startsWith(normalizedBase)) {
-            String relativePath = normalizedFile.substring(normalizedBase.length());
-            int firstSlash = relativePath.indexOf("/");
-            if (firstSlash > 0) {
-                return relativePath.substring(0, firstSlash);
+                // Dosya yolu proje adından sonraki kısmıyla gösterilir
+                doc.append(filePrefix, DEFAULT_STYLE);
+                doc.append(file.relativePath, FILE_STYLE);
+                doc.append(" (" + fileResults.size() + " eslesme)\n", DEFAULT_STYLE);
+
+                for (int i = 0; i < fileResults.size(); i++) {
+                    SearchResult result = fileResults.get(i);
+                    String resultPrefix = (i == fileResults.size() - 1) ? "└─ " : "├─ ";
+                    doc.append(linePrefix + resultPrefix + "Satir " + result.getLineNumber() + ": ", DEFAULT_STYLE);
+
+                    // Highlight aranan metni
+                    appendHighlightedText(doc, previews.get(result), searchString, caseSensitive, wholeWord);
+                    doc.append("\n", DEFAULT_STYLE);
+                }
             }
-            return relativePath;
         }
-        return "(root)";
+
+        // Ozet
+        doc.append("\n" + "=".repeat(70) + "\n", HEADER_STYLE);
+        doc.append("OZET\n", HEADER_STYLE);
+        doc.append("=".repeat(70) + "\n", HEADER_STYLE);
+        doc.append("   Toplam proje sayisi: " + groupedByProject.size() + "\n", DEFAULT_STYLE);
+        doc.append("   Toplam dosya sayisi: " + totalFiles + "\n", DEFAULT_STYLE);
+        doc.append("   Toplam eslesme sayisi: " + results.size() + "\n", DEFAULT_STYLE);
+        doc.append("   Sure: " + duration + " ms\n", DEFAULT_STYLE);
+        doc.flush();
+        return doc;
     }
 
-    private String getShortFilePath(String filePath, String basePath, String projectName) {
-        String normalizedFile = filePath.replace("\\", "/");
-        String normalizedBase = basePath.replace("\\", "/");
+    /**
+     * Arama sirasinda gelen sonuclari duz liste olarak ekler; gruplu gorunum arama bitince olusturulur.
+     * Her parca belgeye tek bir ekleme olarak girer.
+     */
+    private void appendLiveResults(ResultDocument doc, List<SearchResult> chunk, int alreadyShown,
+                                   String searchString, boolean caseSensitive, boolean wholeWord) {
+        int remaining = LIVE_RESULT_LIMIT - alreadyShown;
+        if (remaining <= 0) {
+            return;
+        }
 
-        if (!normalizedBase.endsWith("/")) {
-            normalizedBase += "/";
+        for (int i = 0; i < chunk.size() && i < remaining; i++) {
+            SearchResult result = chunk.get(i);
+            doc.append(result.getProjectName() + "/", PROJECT_STYLE);
+            doc.append(result.getRelativePath(), FILE_STYLE);
+            doc.append(" : " + result.getLineNumber() + ": ", DEFAULT_STYLE);
+            appendHighlightedText(doc, result.getPreview(PREVIEW_LENGTH), searchString, caseSensitive, wholeWord);
+            doc.append("\n", DEFAULT_STYLE);
         }
 
-        String fullPrefix = normalizedBase + projectName + "/";
-        if (normalizedFile.startsWith(fullPrefix)) {
-            return normalizedFile.substring(fullPrefix.length());
+        try {
+            doc.flush();
+        } catch (BadLocationException e) {
+            e.printStackTrace();
         }
-        return filePath;
     }
 
-    private void appendHighlightedText(StyledDocument doc, String text, String searchString, Style normalStyle, Style highlightStyle) throws BadLocationException {
-        String compareText = currentCaseSensitive ? text : text.toLowerCase();
-        String compareSearch = currentCaseSensitive ? searchString : searchString.toLowerCase();
+
+    private void appendHighlightedText(ResultDocument doc, String text, String searchString, boolean caseSensitive, boolean wholeWord) {
+        String compareText = caseSensitive ? text : text.toLowerCase();
+        String compareSearch = caseSensitive ? searchString : searchString.toLowerCase();
 
         int lastEnd = 0;
         int index = 0;
@@ -512,7 +545,7 @@ public class EntitySearchGUI extends JFrame {
             boolean shouldHighlight = true;
 
             // Tam kelime kontrolü
-            if (currentWholeWord) {
+            if (wholeWord) {
                 boolean startOk = (index == 0) || !Character.isLetterOrDigit(compareText.charAt(index - 1));
                 int endIndex = index + compareSearch.length();
                 boolean endOk = (endIndex >= compareText.length()) || !Character.isLetterOrDigit(compareText.charAt(endIndex));
@@ -522,10 +555,10 @@ public class EntitySearchGUI extends JFrame {
             if (shouldHighlight) {
                 // Normal metin (highlight öncesi)
                 if (index > lastEnd) {
-                    doc.insertString(doc.getLength(), text.substring(lastEnd, index), normalStyle);
+                    doc.append(text.substring(lastEnd, index), DEFAULT_STYLE);
                 }
                 // Highlight edilmiş metin
-                doc.insertString(doc.getLength(), text.substring(index, index + searchString.length()), highlightStyle);
+                doc.append(text.substring(index, index + searchString.length()), HIGHLIGHT_STYLE);
                 lastEnd = index + searchString.length();
             }
             index++;
@@ -533,7 +566,7 @@ public class EntitySearchGUI extends JFrame {
 
         // Kalan metin
         if (lastEnd < text.length()) {
-            doc.insertString(doc.getLength(), text.substring(lastEnd), normalStyle);
+            doc.append(text.substring(lastEnd), DEFAULT_STYLE);
         }
     }
 
@@ -542,7 +575,7 @@ public class EntitySearchGUI extends JFrame {
         searchStringField.setText("");
         patternField.setText("*");
         folderFilterField.setText("");
-        resultArea.setText("");
+        resultArea.setStyledDocument(new ResultDocument());
         statusLabel.setText("Hazir");
     }
 
@@ -556,4 +589,99 @@ public class EntitySearchGUI extends JFrame {
             gui.setVisible(true);
         });
     }
+
+    private static AttributeSet textStyle(Color color, int fontSize, boolean bold) {
+        SimpleAttributeSet style = new SimpleAttributeSet();
+        StyleConstants.setForeground(style, color);
+        StyleConstants.setFontFamily(style, "Consolas");
+        StyleConstants.setFontSize(style, fontSize);
+        StyleConstants.setBold(style, bold);
+        return style;
+    }
+
+    private static AttributeSet highlightStyle() {
+        SimpleAttributeSet style = new SimpleAttributeSet(textStyle(Color.BLACK, 12, true));
+        StyleConstants.setBackground(style, Color.YELLOW);
+        return style;
+    }
+
+    /**
+     * Metni once biriktirip flush ile tek bir toplu ekleme olarak belgeye yazan belge.
+     * Her parca icin ayri insertString (ve ayri belge olayi / yeniden yerlesim) yapilmaz;
+     * ardisik ayni stilli metinler tek bir eleman olarak birlestirilir.
+     */
+    private static final class ResultDocument extends DefaultStyledDocument {
+        private static final char[] NEW_LINE = {'\n'};
+
+        private final List<ElementSpec> batch = new ArrayList<>();
+        private final StringBuilder run = new StringBuilder();
+        private AttributeSet runStyle;
+
+        void append(String text, AttributeSet style) {
+            int start = 0;
+            int newLine;
+            while ((newLine = text.indexOf('\n', start)) >= 0) {
+                appendRun(text.substring(start, newLine), style);
+                endParagraph(style);
+                start = newLine + 1;
+            }
+            appendRun(text.substring(start), style);
+        }
+
+        /**
+         * Biriken metni belgenin sonuna tek seferde ekler
+         */
+        void flush() throws BadLocationException {
+            closeRun();
+            if (batch.isEmpty()) {
+                return;
+            }
+            // insertString'in ürettiği yapının aynısı: yeni satır sonrasına eklerken önce yeni paragraf
+            // açılır, son paragraf belgenin sonundaki paragrafla birleşir; satır ortasına eklerken
+            // mevcut paragraf bölünür
+            int offset = getLength();
+            boolean afterNewLine = offset > 0 && getText(offset - 1, 1).charAt(0) == '\n';
+            if (afterNewLine) {
+                AttributeSet paragraphStyle = getParagraphElement(offset).getAttributes();
+                batch.add(0, new ElementSpec(paragraphStyle, ElementSpec.EndTagType));
+                batch.add(1, new ElementSpec(paragraphStyle, ElementSpec.StartTagType));
+            }
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                ElementSpec spec = batch.get(i);
+                if (spec.getType() == ElementSpec.StartTagType) {
+                    spec.setDirection(afterNewLine ? ElementSpec.JoinNextDirection : ElementSpec.JoinFractureDirection);
+                    break;
+                }
+            }
+            insert(offset, batch.toArray(new ElementSpec[0]));
+            batch.clear();
+        }
+
+        private void appendRun(String text, AttributeSet style) {
+            if (text.isEmpty()) {
+                return;
+            }
+            if (runStyle != style) {
+                closeRun();
+                runStyle = style;
+            }
+            run.append(text);
+        }
+
+        private void endParagraph(AttributeSet style) {
+            closeRun();
+            batch.add(new ElementSpec(style, ElementSpec.ContentType, NEW_LINE, 0, 1));
+            batch.add(new ElementSpec(null, ElementSpec.EndTagType));
+            batch.add(new ElementSpec(getParagraphElement(0).getAttributes(), ElementSpec.StartTagType));
+        }
+
+        private void closeRun() {
+            if (run.length() == 0) {
+                return;
+            }
+            char[] chars = run.toString().toCharArray();
+            batch.add(new ElementSpec(runStyle, ElementSpec.ContentType, chars, 0, chars.length));
+            run.setLength(0);
+        }
+    }
 }
@@ -1,14 +1,27 @@
 package tr.com.envapp.search;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Proje dosyalarında arama yapan servis sınıfı
@@ -22,22 +35,66 @@ public class EntitySearchService {
         ".kt", ".gradle", ".groovy", ".scala"
     ));
 
-    // Atlanacak klasörler
+    // Her zaman atlanacak klasörler; projeye özgü kurallar .gitignore/.ignore ve exclude glob'larından gelir
     private static final Set<String> SKIP_DIRECTORIES = new HashSet<>(Arrays.asList(
         "target", "build", "node_modules", ".git", ".idea", ".mvn",
-        "bin", "out", ".gradle", ".settings", "test", "tests", "test-classes"
+        "bin", "out", ".gradle", ".settings", "test-classes"
     ));
 
+    // Paralel taramada tek görevde taranacak en fazla dosya sayısı
+    private static final int FILE_BATCH_SIZE = 32;
+
+    // Varsayılan dosya boyutu sınırı; daha büyük dosyalar (dump, log vb.) taranmaz
+    private static final long DEFAULT_MAX_FILE_SIZE = 64L * 1024 * 1024;
+
     private boolean caseSensitive = false;
     private boolean searchInAllFiles = false;
     private boolean wholeWord = false;
+    private boolean regex = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool forkJoinPool;
+    private int maxResults = 0;
+    private boolean useIndex = false;
     private StatusListener statusListener;
+    private ProgressListener progressListener;
+    private long progressIntervalMillis = 100;
+    private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+    private Charset fallbackCharset = FileScanner.DEFAULT_FALLBACK_CHARSET;
+    private boolean useIgnoreFiles = true;
+    private List<String> includeGlobs = List.of();
+    private List<String> excludeGlobs = List.of();
+    private boolean useResultCache = true;
+
+    // Bu servis üzerinde şu an çalışan aramalar (cancel() için)
+    private final Set<SearchContext> activeSearches = ConcurrentHashMap.newKeySet();
 
     // Status listener interface
     public interface StatusListener {
+        /**
+         * Bir kök dizinin (proje klasörü) taraması bittiğinde çağrılır
+         * @param foundCount Bu dizinde bulunan sonuç sayısı
+         */
         void onDirectoryCompleted(String directoryName, int foundCount);
     }
 
+    // İlerleme bilgisi listener'ı
+    public interface ProgressListener {
+        /**
+         * Arama sürerken en fazla progressInterval'de bir, bitişte ise bir kez (finished) çağrılır.
+         * Tarayan thread'lerden birinde çağrılır, bu yüzden hızlı dönmelidir.
+         */
+        void onProgress(SearchProgress progress);
+    }
+
+    // Streaming arama için sonuç listener'ı
+    public interface ResultListener {
+        /**
+         * Bulunan her sonuç için çağrılır
+         * @return Aramaya devam edilecekse true, durdurulacaksa false
+         */
+        boolean onResult(SearchResult result);
+    }
+
     public EntitySearchService() {
     }
 
@@ -82,157 +139,824 @@ public class EntitySearchService {
      * @return Bulunan sonuçların listesi
      */
     public List<SearchResult> search(String basePath, String searchString, String folderPattern, String parentFolderFilter) {
+        return search(basePath, List.of(searchString), folderPattern, parentFolderFilter);
+    }
+
+    /**
+     * Birden fazla terimi dizin ağacını tek kez tarayarak arar. Her sonuç eşleşen terimle
+     * işaretlenir (SearchResult.getMatchedTerm); bir satır birden fazla terimi içeriyorsa
+     * her terim için ayrı sonuç döner. Aynı aramanın sonuçları tek bir PathTable paylaşır;
+     * proje/dosya gruplaması dosya id'leri üzerinden yapılabilir.
+     * @param basePath Arama yapılacak kök dizin
+     * @param terms Aranacak terimler
+     * @param folderPattern Klasör pattern'i (örn: "*", "his-api-*", "*-service")
+     * @param parentFolderFilter Üst klasör filtresi - null veya boş = filtre yok
+     * @return Bulunan sonuçların listesi
+     */
+    public List<SearchResult> search(String basePath, List<String> terms, String folderPattern, String parentFolderFilter) {
         List<SearchResult> results = new ArrayList<>();
-        File baseDir = new File(basePath);
+        SearchContext context = new SearchContext(compile(terms, folderPattern, parentFolderFilter), null, basePath);
+        runSearch(basePath, context, results);
+        return results;
+    }
 
-        if (!baseDir.exists()) {
-            System.err.println("Hata: Belirtilen path bulunamadı: " + basePath);
-            return results;
+    /**
+     * Aramayı sonuçları biriktirmeden yapar; her eşleşme bulunduğu anda listener'a iletilir.
+     * Listener tarayan thread üzerinde (paralel modda senkronize olarak) çağrılır, bu yüzden
+     * yavaş bir tüketici taramayı da yavaşlatır. Listener false döndürürse veya
+     * maxResults sınırına ulaşılırsa tarama durdurulur.
+     * @param basePath Arama yapılacak kök dizin
+     * @param searchString Aranacak string
+     * @param folderPattern Klasör pattern'i (örn: "*", "his-api-*", "*-service")
+     * @param parentFolderFilter Üst klasör filtresi - null veya boş = filtre yok
+     * @param listener Sonuçları alacak listener
+     * @return Listener'a iletilen sonuç sayısı
+     */
+    public int search(String basePath, String searchString, String folderPattern, String parentFolderFilter,
+                      ResultListener listener) {
+        return search(basePath, List.of(searchString), folderPattern, parentFolderFilter, listener);
+    }
+
+    /**
+     * Birden fazla terimi tek taramada arar ve sonuçları bulundukları anda listener'a iletir
+     * @param basePath Arama yapılacak kök dizin
+     * @param terms Aranacak terimler
+     * @param folderPattern Klasör pattern'i (örn: "*", "his-api-*", "*-service")
+     * @param parentFolderFilter Üst klasör filtresi - null veya boş = filtre yok
+     * @param listener Sonuçları alacak listener
+     * @return Listener'a iletilen sonuç sayısı
+     */
+    public int search(String basePath, List<String> terms, String folderPattern, String parentFolderFilter,
+                      ResultListener listener) {
+        SearchContext context = new SearchContext(compile(terms, folderPattern, parentFolderFilter), listener, basePath);
+        runSearch(basePath, context, null);
+        return context.found.get();
+    }
+
+    /**
+     * Kök dizinleri belirleyip aramayı seri veya paralel olarak çalıştırır
+     * @param results Sonuç listesi (streaming modda null)
+     */
+    private void runSearch(String basePath, SearchContext context, List<SearchResult> results) {
+        activeSearches.add(context);
+        try {
+            List<Folder> rootDirs = resolveRootDirs(basePath, context);
+            if (useResultCache && !rootDirs.isEmpty()) {
+                context.cacheKey = cacheKey(basePath, context.query);
+                if (searchFromCache(rootDirs, context, results)) {
+                    return;
+                }
+            }
+            // Önbellek doğrulaması ağacı saydıysa ikinci bir sayım yürüyüşü yapılmaz
+            if (progressListener != null && context.estimatedFiles < 0) {
+                startPreCount(rootDirs, context);
+            }
+            runSearch(basePath, context, results, rootDirs);
+            if (context.cacheKey != null && !context.isStopped()) {
+                ResultCache.put(new ResultCache.Entry(context.cacheKey, context.query,
+                    results != null ? results : context.recorded, context.completedDirectories,
+                    context.fingerprint.sum(), context.filesScanned.get()));
+            }
+        } finally {
+            activeSearches.remove(context);
+            context.finished = true;
+            context.reportProgress(true);
+        }
+    }
+
+    private void runSearch(String basePath, SearchContext context, List<SearchResult> results, List<Folder> rootDirs) {
+        if (rootDirs.isEmpty() || context.isStopped()) {
+            return;
         }
 
-        if (!baseDir.isDirectory()) {
-            System.err.println("Hata: Belirtilen path bir klasör değil: " + basePath);
-            return results;
+        if (useIndex) {
+            TrigramIndex index = TrigramIndex.forBasePath(basePath);
+            if (index.isEmpty()) {
+                buildIndex(index);
+            } else if (!index.isRefreshed()) {
+                // Diskten yüklenen index'i bir kez dosya sistemiyle karşılaştır (git pull, branch değişimi vb.)
+                refreshIndex(index);
+            }
+            context.index = index;
+            context.candidates = index.candidates(context.query.terms);
+        }
+
+        if (parallelism <= 1 && forkJoinPool == null) {
+            for (Folder dir : rootDirs) {
+                if (context.isStopped()) break;
+                if (context.query.matchesAllFolders()) {
+                    // Kök dizinin kendisi taranıyor; durum alt klasörler (projeler) için bildirilir
+                    searchInDirectory(dir, context, results, null);
+                } else {
+                    AtomicInteger rootHits = new AtomicInteger();
+                    searchInDirectory(dir, context, results, rootHits);
+                    rootCompleted(dir, context, rootHits);
+                }
+            }
+        } else {
+            List<SearchResult> merged = searchInParallel(rootDirs, context);
+            if (results != null) {
+                results.addAll(merged);
+            }
+        }
+    }
+
+    /**
+     * Aramayı önbellekten cevaplamaya çalışır. Aynı sorgunun kaydı varsa ağaç dosyalar okunmadan
+     * listelenir; parmak izi tutarsa kayıt taranmadan yayınlanır. Yoksa bu sorgunun daralttığı bir
+     * sorgunun (ör. sonuna karakter eklenmiş) geçerli kaydı aranır; bulunursa tarama yalnızca o
+     * kayıtta sonuç veren dosyalarla sınırlanır.
+     * @return Arama önbellekten tamamlandıysa (veya listeleme sırasında durdurulduysa) true
+     */
+    private boolean searchFromCache(List<Folder> rootDirs, SearchContext context, List<SearchResult> results) {
+        ResultCache.Entry cached = ResultCache.get(context.cacheKey);
+        boolean exact = cached != null;
+        if (!exact) {
+            cached = ResultCache.findBroader(context.cacheKey, context.query);
+            if (cached == null) {
+                return false;
+            }
+        }
+
+        LongAdder fingerprint = new LongAdder();
+        int[] fileCount = new int[1];
+        for (Folder dir : rootDirs) {
+            boolean completed = walkSearchableFiles(dir, context, file -> {
+                fingerprint.add(file.fingerprint());
+                fileCount[0]++;
+            });
+            if (!completed) {
+                return true;
+            }
+        }
+        // Kayıt kullanılamasa da bu sayım ilerleme tahmini olur; runSearch ayrıca ön sayım başlatmaz
+        context.estimatedFiles = fileCount[0];
+        if (!cached.matches(fingerprint.sum(), fileCount[0])) {
+            ResultCache.remove(cached);
+            return false;
+        }
+        if (!exact) {
+            context.candidateFiles = cached.hitFiles();
+            return false;
         }
 
+        context.filesScanned.set(fileCount[0]);
+        context.cacheKey = null;
+        context.publish(cached.results, results);
+        if (statusListener != null) {
+            for (Map.Entry<String, Integer> completed : cached.completedDirectories) {
+                statusListener.onDirectoryCompleted(completed.getKey(), completed.getValue());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sonucu etkileyen tüm parametrelerden önbellek anahtarını oluşturur
+     */
+    private ResultCache.Key cacheKey(String basePath, CompiledQuery query) {
+        List<Object> scope = Arrays.asList(new File(basePath).getAbsolutePath(), query.folderPatternRegex(),
+            query.parentFolderFilter, caseSensitive, wholeWord, regex, searchInAllFiles, useIgnoreFiles,
+            includeGlobs, excludeGlobs, maxFileSize, fallbackCharset.name());
+        // Regex modunda terimler pattern'den çıkarılan literal'lerdir; anahtar pattern'in kendisidir
+        return new ResultCache.Key(scope, query.regex != null ? List.of(query.regex.pattern()) : query.terms);
+    }
+
+    /**
+     * Kök dizin için trigram index'ini baştan oluşturur ve diske kaydeder
+     * @param basePath Index'lenecek kök dizin
+     */
+    public void buildIndex(String basePath) {
+        buildIndex(TrigramIndex.forBasePath(basePath));
+    }
+
+    private void buildIndex(TrigramIndex index) {
+        List<Folder.Entry> files = new ArrayList<>();
+        collectIndexableFiles(indexRoot(index), files);
+
+        index.clear();
+        updateIndexFiles(index, files);
+        index.setRefreshed(true);
+        index.save();
+    }
+
+    /**
+     * Index'i dosya sistemindeki güncel durumla karşılaştırır: boyutu veya değişiklik zamanı
+     * farklı olan ve yeni eklenen dosyalar yeniden index'lenir, silinenler çıkarılır.
+     * Sadece değişen dosyalar okunduğu için maliyet değişiklik miktarıyla orantılıdır.
+     * @param basePath Index'in kök dizini
+     * @return Yeniden index'lenen veya çıkarılan dosya sayısı
+     */
+    public int refreshIndex(String basePath) {
+        return refreshIndex(TrigramIndex.forBasePath(basePath));
+    }
+
+    private int refreshIndex(TrigramIndex index) {
+        List<Folder.Entry> files = new ArrayList<>();
+        collectIndexableFiles(indexRoot(index), files);
+
+        Set<String> existing = new HashSet<>();
+        List<Folder.Entry> changed = new ArrayList<>();
+        for (Folder.Entry file : files) {
+            String path = file.path.toString();
+            existing.add(path);
+            if (!index.isUpToDate(path, file.size(), file.lastModified())) {
+                changed.add(file);
+            }
+        }
+
+        int removed = 0;
+        for (String path : index.getIndexedPaths()) {
+            if (!existing.contains(path)) {
+                index.removeFile(path);
+                removed++;
+            }
+        }
+
+        updateIndexFiles(index, changed);
+        index.setRefreshed(true);
+        if (!changed.isEmpty() || removed > 0) {
+            index.save();
+        }
+        return changed.size() + removed;
+    }
+
+    /**
+     * Dosyaları (paralellik ayarına göre) okuyup index'e işler
+     */
+    private void updateIndexFiles(TrigramIndex index, List<Folder.Entry> files) {
+        if (parallelism <= 1 && forkJoinPool == null) {
+            files.forEach(file -> index.updateFile(file.path.toFile(), fallbackCharset));
+            return;
+        }
+        ForkJoinPool pool = forkJoinPool != null ? forkJoinPool : new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(file -> index.updateFile(file.path.toFile(), fallbackCharset))).join();
+        } finally {
+            if (pool != forkJoinPool) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Index'e girecek dosyaları toplar: atlanan ve ignore edilen klasörler hariç, binary olmayan
+     * ve boyut sınırını aşmayan tüm dosyalar. Böylece index, uzantı filtresinden ve include/exclude
+     * glob'larından bağımsız olarak her iki arama modunu da kapsar. Index'te olmayan dosyalar
+     * aramada her zaman taranır (ve orada boyutuyla elenir).
+     */
+    private void collectIndexableFiles(Folder folder, List<Folder.Entry> files) {
+        List<Folder.Entry> entries = folder.list();
+        IgnoreRules rules = folder.parentRules.enter(folder.path, entries);
+
+        for (Folder.Entry entry : entries) {
+            if (entry.isDirectory()) {
+                Folder child = shouldSearchDirectory(entry, rules) ? folder.child(entry, rules) : null;
+                if (child != null) {
+                    collectIndexableFiles(child, files);
+                }
+            } else if (entry.isFile() && isIndexableFile(entry.name, entry.size())
+                    && !rules.isExcluded(entry.name, false)) {
+                files.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Index'in kök dizini; index için yalnızca .gitignore/.ignore kuralları geçerlidir,
+     * glob'lar ve üst klasör filtresi aramaya özeldir
+     */
+    private Folder indexRoot(TrigramIndex index) {
+        IgnoreRules rules = IgnoreRules.forSearch(useIgnoreFiles, List.of(), List.of());
+        return Folder.root(new File(index.getBasePath()), rules, null);
+    }
+
+    /**
+     * Arama parametrelerinden, tarama boyunca kullanılacak derlenmiş sorguyu oluşturur
+     */
+    private CompiledQuery compile(List<String> terms, String folderPattern, String parentFolderFilter) {
         // Parent folder filter'ı normalize et
         String normalizedFilter = (parentFolderFilter != null && !parentFolderFilter.trim().isEmpty())
             ? parentFolderFilter.trim().toLowerCase()
             : null;
+        // Aynı terim iki kez verilirse otomatta tek kez yer alır
+        List<String> distinctTerms = terms.stream()
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+        if (regex) {
+            if (distinctTerms.size() != 1) {
+                throw new IllegalArgumentException("Regex modunda tek bir pattern verilmelidir");
+            }
+            return CompiledQuery.regex(distinctTerms.get(0), caseSensitive, wholeWord, folderPattern, normalizedFilter);
+        }
+        return new CompiledQuery(distinctTerms, caseSensitive, wholeWord, folderPattern, normalizedFilter);
+    }
 
-        // Pattern "*" ise tüm klasörleri tara
-        if ("*".equals(folderPattern)) {
-            searchInDirectory(baseDir, searchString, results, normalizedFilter);
+    /**
+     * Taranacak kök dizinleri belirler.
+     * Pattern "*" ise kök dizinin kendisi, değilse pattern'e uyan ve ignore edilmeyen üst seviye
+     * klasörler döner.
+     */
+    private List<Folder> resolveRootDirs(String basePath, SearchContext context) {
+        CompiledQuery query = context.query;
+        List<Folder> rootDirs = new ArrayList<>();
+        File baseDir = new File(basePath);
+
+        if (!baseDir.exists()) {
+            System.err.println("Hata: Belirtilen path bulunamadı: " + basePath);
+            return rootDirs;
+        }
+
+        if (!baseDir.isDirectory()) {
+            System.err.println("Hata: Belirtilen path bir klasör değil: " + basePath);
+            return rootDirs;
+        }
+
+        Folder base = Folder.root(baseDir, context.ignoreRules, query.parentFolderFilter);
+        if (query.matchesAllFolders()) {
+            rootDirs.add(base);
         } else {
-            // Üst seviye klasörleri filtrele
-            File[] topLevelDirs = baseDir.listFiles(File::isDirectory);
-            if (topLevelDirs != null) {
-                for (File dir : topLevelDirs) {
-                    if (matchesPattern(dir.getName(), folderPattern)) {
-                        searchInDirectory(dir, searchString, results, normalizedFilter);
+            List<Folder.Entry> entries = base.list();
+            IgnoreRules baseRules = context.ignoreRules.enter(base.path, entries);
+            for (Folder.Entry entry : entries) {
+                if (entry.isDirectory() && query.matchesFolder(entry.name)
+                        && !baseRules.isExcluded(entry.name, true)) {
+                    Folder dir = base.child(entry, baseRules);
+                    if (dir != null) {
+                        rootDirs.add(dir);
                     }
                 }
             }
         }
-
-        return results;
+        return rootDirs;
     }
 
     /**
-     * Klasör adının verilen pattern'e uyup uymadığını kontrol eder
-     * Pattern'de * karakteri wildcard olarak kullanılır
-     * Örnek: "his-api-*" -> "his-api-gateway", "his-api-auth" ile eşleşir
-     * @param folderName Klasör adı
-     * @param pattern Pattern (örn: "his-*", "*-service", "*api*")
-     * @return Eşleşme durumu
+     * Kök dizinleri ForkJoinPool üzerinde paralel tarar.
+     * Sonuçlar seri taramayla aynı sırada birleştirilir.
      */
-    private boolean matchesPattern(String folderName, String pattern) {
-        if (pattern == null || pattern.isEmpty() || "*".equals(pattern)) {
-            return true;
-        }
+    private List<SearchResult> searchInParallel(List<Folder> rootDirs, SearchContext context) {
+        RecursiveTask<List<SearchResult>> rootTask = new RecursiveTask<>() {
+            @Override
+            protected List<SearchResult> compute() {
+                List<RecursiveTask<List<SearchResult>>> tasks = new ArrayList<>();
+                for (Folder dir : rootDirs) {
+                    // "*" ile kök dizinin kendisi taranır; durum alt klasörler (projeler) için bildirilir
+                    tasks.add(context.query.matchesAllFolders()
+                        ? new DirectorySearchTask(dir, context, null)
+                        : new ProjectSearchTask(dir, context));
+                }
+                invokeAll(tasks);
+                List<SearchResult> merged = new ArrayList<>();
+                for (RecursiveTask<List<SearchResult>> task : tasks) {
+                    merged.addAll(task.join());
+                }
+                return merged;
+            }
+        };
 
-        // Pattern'i regex'e çevir
-        // * -> .* (herhangi bir karakter dizisi)
-        // Diğer özel karakterleri escape et
-        String regex = pattern
-            .replace(".", "\\.")
-            .replace("?", ".")
-            .replace("*", ".*");
+        if (forkJoinPool != null) {
+            return await(forkJoinPool.submit(rootTask), context);
+        }
 
-        return folderName.toLowerCase().matches(regex.toLowerCase());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return await(pool.submit(rootTask), context);
+        } finally {
+            pool.shutdown();
+        }
     }
 
     /**
-     * Recursive olarak dizin içinde arama yapar
-     * @param directory Aranacak dizin
-     * @param searchString Aranacak string
-     * @param results Sonuç listesi
-     * @param parentFolderFilter Üst klasör filtresi (null = filtre yok)
+     * Kök dizinin taraması bittiğinde StatusListener'ı bilgilendirir
      */
-    private void searchInDirectory(File directory, String searchString, List<SearchResult> results, String parentFolderFilter) {
-        File[] files = directory.listFiles();
-        if (files == null) return;
+    private void rootCompleted(Folder dir, SearchContext context, AtomicInteger rootHits) {
+        if (context.cacheKey != null) {
+            context.completedDirectories.add(Map.entry(dir.path.getFileName().toString(), rootHits.get()));
+        }
+        if (statusListener != null && !context.stopped) {
+            statusListener.onDirectoryCompleted(dir.path.getFileName().toString(), rootHits.get());
+        }
+    }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                if (!shouldSkipDirectory(file.getName())) {
-                    searchInDirectory(file, searchString, results, parentFolderFilter);
+    /**
+     * Taranacak dosya sayısını arka planda sayar (dosyalar okunmaz, sadece listelenir).
+     * Sonuç ilerleme oranı için tahmin olarak kullanılır; arama biterse sayım bırakılır.
+     */
+    private void startPreCount(List<Folder> rootDirs, SearchContext context) {
+        Thread counter = new Thread(() -> {
+            int[] count = new int[1];
+            for (Folder dir : rootDirs) {
+                if (!walkSearchableFiles(dir, context, file -> count[0]++)) {
+                    return;
                 }
-            } else {
-                if (shouldSearchFile(file.getName())) {
-                    // Eğer parentFolderFilter varsa, dosyanın üst klasörünü kontrol et
-                    if (parentFolderFilter == null || matchesParentFolder(file, parentFolderFilter)) {
-                        searchInFile(file, searchString, results);
-                    }
+            }
+            context.estimatedFiles = count[0];
+        }, "search-precount");
+        counter.setDaemon(true);
+        counter.start();
+    }
+
+    /**
+     * Aramada taranacak dosyaları okumadan, aramayla aynı sırada gezer
+     * @return Arama biterse veya durdurulursa false
+     */
+    private boolean walkSearchableFiles(Folder folder, SearchContext context, Consumer<Folder.Entry> visitor) {
+        if (context.finished || context.stopped) {
+            return false;
+        }
+        List<Folder.Entry> entries = folder.list();
+        IgnoreRules rules = folder.parentRules.enter(folder.path, entries);
+
+        for (Folder.Entry entry : entries) {
+            if (entry.isDirectory()) {
+                Folder child = shouldSearchDirectory(entry, rules) ? folder.child(entry, rules) : null;
+                if (child != null && !walkSearchableFiles(child, context, visitor)) {
+                    return false;
                 }
+            } else if (folder.matchesParentFilter && shouldSearchFile(entry, rules)) {
+                visitor.accept(entry);
             }
         }
+        return true;
     }
 
     /**
-     * Dosyanın üst klasörlerinden birinin filtre ile eşleşip eşleşmediğini kontrol eder
+     * Paralel taramanın bitmesini bekler. Bekleyen thread kesilirse (ör. Task.cancel) tarama
+     * durdurulur ve worker'ların bırakması beklenir; böylece arkada çalışan tarama kalmaz.
      */
-    private boolean matchesParentFolder(File file, String folderFilter) {
-        File parent = file.getParentFile();
-        while (parent != null) {
-            if (parent.getName().toLowerCase().equals(folderFilter)) {
-                return true;
+    private List<SearchResult> await(ForkJoinTask<List<SearchResult>> task, SearchContext context) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            context.stopped = true;
+            List<SearchResult> partial = task.join();
+            Thread.currentThread().interrupt();
+            return partial;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            parent = parent.getParentFile();
+            throw new IllegalStateException(e.getCause());
         }
-        return false;
     }
 
     /**
-     * Tek bir dosya içinde arama yapar
+     * Recursive olarak dizin içinde arama yapar
+     * @param folder Aranacak dizin (ignore kuralları ve üst klasör filtresinin durumu ile)
+     * @param context Arama bağlamı
+     * @param results Sonuç listesi (streaming modda null)
+     * @param rootHits Dizinin bağlı olduğu projede bulunan sonuç sayacı
+     *                 (null = bu dizin kök dizin, alt klasörlerinin her biri ayrı proje)
      */
-    private void searchInFile(File file, String searchString, List<SearchResult> results) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNumber = 0;
+    private void searchInDirectory(Folder folder, SearchContext context,
+                                   List<SearchResult> results, AtomicInteger rootHits) {
+        List<Folder.Entry> entries = folder.list();
+        IgnoreRules rules = folder.parentRules.enter(folder.path, entries);
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+        for (Folder.Entry entry : entries) {
+            if (context.isStopped()) return;
 
-                boolean found;
-                if (wholeWord) {
-                    found = containsWholeWord(line, searchString, caseSensitive);
-                } else if (caseSensitive) {
-                    found = line.contains(searchString);
+            if (entry.isDirectory()) {
+                Folder child = shouldSearchDirectory(entry, rules) ? folder.child(entry, rules) : null;
+                if (child == null) {
+                    continue;
+                }
+                if (rootHits == null) {
+                    AtomicInteger projectHits = new AtomicInteger();
+                    searchInDirectory(child, context, results, projectHits);
+                    rootCompleted(child, context, projectHits);
                 } else {
-                    found = line.toLowerCase().contains(searchString.toLowerCase());
+                    searchInDirectory(child, context, results, rootHits);
                 }
+            } else if (folder.matchesParentFilter && shouldSearchFile(entry, rules)) {
+                searchInFile(entry, context, results, rootHits);
+            }
+        }
+        context.directoriesCompleted.incrementAndGet();
+    }
+
+    /**
+     * Bir dizini paralel tarayan görev: alt dizinler ve dosya grupları ayrı görevlere bölünür
+     */
+    private class DirectorySearchTask extends RecursiveTask<List<SearchResult>> {
+        private final Folder folder;
+        private final SearchContext context;
+        private final AtomicInteger rootHits;
+
+        /**
+         * @param rootHits Projenin sonuç sayacı; null ise bu dizin kök dizindir ve her alt klasör
+         *                 kendi sayacıyla ayrı bir proje olarak bildirilir
+         */
+        DirectorySearchTask(Folder folder, SearchContext context, AtomicInteger rootHits) {
+            this.folder = folder;
+            this.context = context;
+            this.rootHits = rootHits;
+        }
+
+        @Override
+        protected List<SearchResult> compute() {
+            if (context.isStopped()) return new ArrayList<>();
+            List<Folder.Entry> entries = folder.list();
+            IgnoreRules rules = folder.parentRules.enter(folder.path, entries);
+
+            // Sırayı korumak için görevler dizin listesindeki sırayla tutulur
+            List<RecursiveTask<List<SearchResult>>> tasks = new ArrayList<>();
+            List<Folder.Entry> batch = new ArrayList<>();
 
-                if (found) {
-                    results.add(new SearchResult(file.getAbsolutePath(), lineNumber, line));
+            for (Folder.Entry entry : entries) {
+                if (entry.isDirectory()) {
+                    Folder child = shouldSearchDirectory(entry, rules) ? folder.child(entry, rules) : null;
+                    if (child != null) {
+                        if (!batch.isEmpty()) {
+                            tasks.add(new FileBatchTask(batch, context, rootHits));
+                            batch = new ArrayList<>();
+                        }
+                        tasks.add(rootHits == null
+                            ? new ProjectSearchTask(child, context)
+                            : new DirectorySearchTask(child, context, rootHits));
+                    }
+                } else if (folder.matchesParentFilter && shouldSearchFile(entry, rules)) {
+                    batch.add(entry);
+                    if (batch.size() >= FILE_BATCH_SIZE) {
+                        tasks.add(new FileBatchTask(batch, context, rootHits));
+                        batch = new ArrayList<>();
+                    }
                 }
             }
+            if (!batch.isEmpty()) {
+                tasks.add(new FileBatchTask(batch, context, rootHits));
+            }
+
+            invokeAll(tasks);
+            List<SearchResult> results = new ArrayList<>();
+            for (RecursiveTask<List<SearchResult>> task : tasks) {
+                results.addAll(task.join());
+            }
+            context.directoriesCompleted.incrementAndGet();
+            return results;
+        }
+    }
+
+    /**
+     * Bir proje klasörünü tarayıp bitince StatusListener'a bildiren görev
+     */
+    private class ProjectSearchTask extends RecursiveTask<List<SearchResult>> {
+        private final Folder folder;
+        private final SearchContext context;
+
+        ProjectSearchTask(Folder folder, SearchContext context) {
+            this.folder = folder;
+            this.context = context;
+        }
+
+        @Override
+        protected List<SearchResult> compute() {
+            AtomicInteger projectHits = new AtomicInteger();
+            List<SearchResult> results = new DirectorySearchTask(folder, context, projectHits).compute();
+            rootCompleted(folder, context, projectHits);
+            return results;
+        }
+    }
+
+    /**
+     * Bir grup dosyayı sırayla tarayan görev
+     */
+    private class FileBatchTask extends RecursiveTask<List<SearchResult>> {
+        private final List<Folder.Entry> files;
+        private final SearchContext context;
+        private final AtomicInteger rootHits;
+
+        FileBatchTask(List<Folder.Entry> files, SearchContext context, AtomicInteger rootHits) {
+            this.files = files;
+            this.context = context;
+            this.rootHits = rootHits;
+        }
+
+        @Override
+        protected List<SearchResult> compute() {
+            List<SearchResult> results = new ArrayList<>();
+            for (Folder.Entry file : files) {
+                if (context.isStopped()) break;
+                searchInFile(file, context, context.listener == null ? results : null, rootHits);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Tek bir dosya içinde arama yapar; dosyanın sonuçları tarama bitince topluca yayınlanır
+     */
+    private void searchInFile(Folder.Entry file, SearchContext context, List<SearchResult> results, AtomicInteger rootHits) {
+        String filePath = file.path.toString();
+        if (context.cacheKey != null) {
+            context.fingerprint.add(file.fingerprint());
+        }
+        // Boyut sınırı, önbellekten gelen aday dosyalar ve index kontrolü listelemede okunan
+        // özniteliklerle, dosya açılmadan yapılır
+        if ((maxFileSize > 0 && file.size() > maxFileSize)
+                || (context.candidateFiles != null && !context.candidateFiles.contains(filePath))
+                || (context.index != null
+                    && !context.index.mayContain(filePath, file.size(), file.lastModified(), context.candidates))) {
+            context.fileScanned(0);
+            return;
+        }
+
+        List<SearchResult> fileResults = new ArrayList<>();
+        // Dosya ilk eşleşmesinde yol tablosuna bir kez kaydedilir
+        int[] fileId = {-1};
+        long bytesRead = 0;
+
+        try {
+            bytesRead = FileScanner.scan(file.path, file.size(), context.query, fallbackCharset,
+                (lineNumber, line, lineOffset, lineLength, matchStart, matchEnd, term) -> {
+                    if (fileId[0] < 0) {
+                        fileId[0] = context.paths.register(filePath);
+                    }
+                    if (lineOffset < 0) {
+                        // Satır dosyadan yeniden okunamaz, metni sonuçta tutulur
+                        fileResults.add(new SearchResult(context.paths, fileId[0], lineNumber, line,
+                            context.query.matchedTerm(term)));
+                        return;
+                    }
+                    SearchResult result = new SearchResult(context.paths, fileId[0], lineNumber, lineOffset, lineLength,
+                        matchStart, matchEnd, context.query.matchedTerm(term));
+                    // Satır metni sonuçta tutulmaz; hemen gösterecek tüketiciler için önbelleğe konur
+                    LineLoader.remember(result, line);
+                    fileResults.add(result);
+                },
+                context::isStopped);
+        } catch (ClosedByInterruptException e) {
+            // Arayan thread kesildi; okuma yarıda kaldı, arama durduruluyor
+            context.stopped = true;
+            return;
         } catch (IOException e) {
-            System.err.println("Dosya okunamadı: " + file.getAbsolutePath() + " - " + e.getMessage());
+            System.err.println("Dosya okunamadı: " + filePath + " - " + e.getMessage());
+        }
+
+        // Dosyanın ortasında durdurulduysa yarım sonuçlar yayınlanmaz
+        if (!fileResults.isEmpty() && !context.isStopped()) {
+            int published = context.publish(fileResults, results);
+            if (rootHits != null) {
+                rootHits.addAndGet(published);
+            }
         }
+        context.fileScanned(bytesRead);
     }
 
     /**
-     * Tam kelime eşleşmesi kontrolü yapar
+     * Tek bir arama çağrısının durumunu tutar: sorgu, sonuç sayacı ve durdurma bayrağı
      */
-    private boolean containsWholeWord(String line, String searchString, boolean caseSensitive) {
-        String compareLine = caseSensitive ? line : line.toLowerCase();
-        String compareSearch = caseSensitive ? searchString : searchString.toLowerCase();
+    private final class SearchContext {
+        final CompiledQuery query;
+        final ResultListener listener;
+        // Aramanın tüm sonuçlarının paylaştığı yol tablosu
+        final PathTable paths;
+        // Kök dizinin üstündeki kurallar (aramanın glob'ları)
+        final IgnoreRules ignoreRules;
+        final AtomicInteger found = new AtomicInteger();
+        volatile boolean stopped;
+        volatile boolean finished;
 
-        int index = 0;
-        while ((index = compareLine.indexOf(compareSearch, index)) >= 0) {
-            // Kelimenin başında mı kontrol et
-            boolean startOk = (index == 0) || !Character.isLetterOrDigit(compareLine.charAt(index - 1));
-            // Kelimenin sonunda mı kontrol et
-            int endIndex = index + compareSearch.length();
-            boolean endOk = (endIndex >= compareLine.length()) || !Character.isLetterOrDigit(compareLine.charAt(endIndex));
+        // İlerleme sayaçları
+        final AtomicInteger filesScanned = new AtomicInteger();
+        final LongAdder bytesRead = new LongAdder();
+        final AtomicInteger directoriesCompleted = new AtomicInteger();
+        volatile int estimatedFiles = -1;
+        final long startNanos = System.nanoTime();
+        final long progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(progressIntervalMillis);
+        final AtomicLong nextProgressAt = new AtomicLong(startNanos);
+        TrigramIndex index;
+        TrigramIndex.Candidates candidates;
 
-            if (startOk && endOk) {
-                return true;
+        // Sonuç önbelleği: anahtar (null = önbellek kullanılmıyor), taranan dosyaların parmak izi,
+        // streaming modda yayınlanan sonuçlar ve daraltılan sorguda taranacak dosyalar
+        ResultCache.Key cacheKey;
+        final LongAdder fingerprint = new LongAdder();
+        final List<Map.Entry<String, Integer>> completedDirectories = Collections.synchronizedList(new ArrayList<>());
+        List<SearchResult> recorded = new ArrayList<>();
+        long recordedBytes;
+        Set<String> candidateFiles;
+
+        SearchContext(CompiledQuery query, ResultListener listener, String basePath) {
+            this.query = query;
+            this.listener = listener;
+            // Folder.root yolları mutlak yapar; göreli kök dizin de aynı önekle eşleşmeli
+            this.paths = new PathTable(basePath == null ? null : new File(basePath).getAbsolutePath());
+            this.ignoreRules = IgnoreRules.forSearch(useIgnoreFiles, includeGlobs, excludeGlobs);
+        }
+
+        /**
+         * Arama durduruldu mu: cancel(), listener, maxResults veya arayan thread'in kesilmesi
+         */
+        boolean isStopped() {
+            if (!stopped && Thread.currentThread().isInterrupted()) {
+                stopped = true;
             }
-            index++;
+            return stopped;
         }
-        return false;
+
+        /**
+         * Bir dosyanın sonuçlarını listeye ekler veya listener'a iletir; maxResults aşılmaz
+         */
+        int publish(List<SearchResult> fileResults, List<SearchResult> results) {
+            if (listener == null) {
+                int count = fileResults.size();
+                if (maxResults > 0) {
+                    int before = found.getAndAdd(count);
+                    count = Math.max(0, Math.min(count, maxResults - before));
+                    if (before + fileResults.size() >= maxResults) {
+                        stopped = true;
+                    }
+                } else {
+                    found.addAndGet(count);
+                }
+                results.addAll(count == fileResults.size() ? fileResults : fileResults.subList(0, count));
+                return count;
+            }
+
+            int published = 0;
+            synchronized (this) {
+                for (SearchResult result : fileResults) {
+                    if (stopped) break;
+                    found.incrementAndGet();
+                    published++;
+                    record(result);
+                    if (!listener.onResult(result) || (maxResults > 0 && found.get() >= maxResults)) {
+                        stopped = true;
+                    }
+                }
+            }
+            return published;
+        }
+
+        /**
+         * Streaming modda yayınlanan sonucu önbellek için saklar; sonuçlar önbellek sınırını
+         * aşarsa arama önbelleğe alınmaz ve saklananlar bırakılır
+         */
+        private void record(SearchResult result) {
+            if (cacheKey == null) {
+                return;
+            }
+            recordedBytes += ResultCache.estimate(result);
+            if (recordedBytes > ResultCache.limit()) {
+                cacheKey = null;
+                recorded = null;
+                return;
+            }
+            recorded.add(result);
+        }
+
+        /**
+         * Bir dosyanın işlendiğini kaydeder ve gerekirse ilerleme bildirir
+         */
+        void fileScanned(long bytes) {
+            filesScanned.incrementAndGet();
+            bytesRead.add(bytes);
+            reportProgress(false);
+        }
+
+        /**
+         * İlerlemeyi progressInterval'de en fazla bir kez bildirir; force ile her durumda bildirir
+         */
+        void reportProgress(boolean force) {
+            ProgressListener progress = progressListener;
+            if (progress == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long next = nextProgressAt.get();
+            // Aralık dolduysa bildirimi sadece CAS'ı kazanan thread yapar
+            if (!force && (now < next || !nextProgressAt.compareAndSet(next, now + progressIntervalNanos))) {
+                return;
+            }
+            int hits = maxResults > 0 ? Math.min(found.get(), maxResults) : found.get();
+            progress.onProgress(new SearchProgress(filesScanned.get(), bytesRead.sum(),
+                directoriesCompleted.get(), hits, estimatedFiles,
+                TimeUnit.NANOSECONDS.toMillis(now - startNanos), finished));
+        }
+    }
+
+    /**
+     * Dosyanın taranıp taranmayacağını kontrol eder: include glob'ları verildiyse uzantı listesi
+     * yerine onlar kullanılır, ardından exclude glob'ları ve ignore kuralları uygulanır
+     */
+    private boolean shouldSearchFile(Folder.Entry file, IgnoreRules rules) {
+        String fileName = file.name;
+        // Cihaz, soket gibi özel dosyalar okunmaz
+        if (!file.isFile() || (rules.hasIncludes() ? isBinaryFile(fileName) : !shouldSearchFile(fileName))) {
+            return false;
+        }
+        return !rules.isExcluded(fileName, false);
+    }
+
+    /**
+     * Alt klasöre girilip girilmeyeceğini kontrol eder (sabit atlama listesi ve ignore kuralları)
+     */
+    private boolean shouldSearchDirectory(Folder.Entry directory, IgnoreRules rules) {
+        String name = directory.name;
+        return !shouldSkipDirectory(name) && !rules.isExcluded(name, true);
     }
 
     /**
@@ -252,6 +976,18 @@ public class EntitySearchService {
         return false;
     }
 
+    /**
+     * Dosyanın index'e alınıp alınmayacağını kontrol eder (binary uzantılı olmayan ve boyut
+     * sınırını aşmayan tüm dosyalar; içeriği binary olanlar index'e boş kayıtla girer)
+     */
+    boolean isIndexableFile(File file) {
+        return isIndexableFile(file.getName(), file.length());
+    }
+
+    private boolean isIndexableFile(String fileName, long size) {
+        return !isBinaryFile(fileName) && (maxFileSize == 0 || size <= maxFileSize);
+    }
+
     /**
      * Binary dosya olup olmadığını kontrol eder
      */
@@ -275,10 +1011,35 @@ public class EntitySearchService {
     /**
      * Klasörün atlanıp atlanmayacağını kontrol eder
      */
-    private boolean shouldSkipDirectory(String dirName) {
+    boolean shouldSkipDirectory(String dirName) {
         return SKIP_DIRECTORIES.contains(dirName);
     }
 
+    /**
+     * Bu servis üzerinde çalışan tüm aramaları durdurur. Tarayan thread'ler bir sonraki dosyada
+     * (büyük dosyalarda bir sonraki parçada) bırakır ve search(...) o ana kadarki sonuçlarla döner.
+     * Herhangi bir thread'den çağrılabilir.
+     */
+    public void cancel() {
+        for (SearchContext context : activeSearches) {
+            context.stopped = true;
+        }
+    }
+
+    /**
+     * İlerleme bilgisini (dosya, byte, klasör, sonuç sayıları ve tahmini toplam) alacak listener
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * İlerleme bildirimleri arasındaki en kısa süre (varsayılan 100 ms)
+     */
+    public void setProgressInterval(long millis) {
+        this.progressIntervalMillis = Math.max(0, millis);
+    }
+
     public void setCaseSensitive(boolean caseSensitive) {
         this.caseSensitive = caseSensitive;
     }
@@ -287,8 +1048,124 @@ public class EntitySearchService {
         this.wholeWord = wholeWord;
     }
 
+    /**
+     * Aranan metni java.util.regex pattern'i olarak yorumlar. Pattern'den çıkarılan zorunlu
+     * literal ile satırlar önce hızlıca elenir, regex sadece aday satırlarda çalışır.
+     * Geçersiz pattern'de search(...) PatternSyntaxException fırlatır.
+     */
+    public void setRegex(boolean regex) {
+        this.regex = regex;
+    }
+
     public void setSearchInAllFiles(boolean searchInAllFiles) {
         this.searchInAllFiles = searchInAllFiles;
     }
+
+    /**
+     * Paralel tarama için kullanılacak thread sayısı (1 = seri tarama)
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Trigram index kullanımını açar/kapatır. Açıkken kök dizin için diskteki index kullanılır
+     * (yoksa ilk aramada oluşturulur) ve sadece aday dosyalar satır satır taranır.
+     */
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
+    /**
+     * Bulunacak en fazla sonuç sayısı; sınıra ulaşıldığında tarama durur (0 = sınırsız)
+     */
+    public void setMaxResults(int maxResults) {
+        this.maxResults = Math.max(0, maxResults);
+    }
+
+    /**
+     * .gitignore ve .ignore dosyalarındaki kurallara uyulsun mu (varsayılan true).
+     * Kural dosyaları kök dizin ve altındaki klasörlerden okunur.
+     */
+    public void setUseIgnoreFiles(boolean useIgnoreFiles) {
+        this.useIgnoreFiles = useIgnoreFiles;
+    }
+
+    /**
+     * Yalnızca bu glob'lara uyan dosyalar taranır (.gitignore söz dizimi, kök dizine göre;
+     * ör. "*.vue", "src/main/**"). Verildiğinde uzantı listesinin yerine geçer; boş liste = uzantı listesi.
+     */
+    public void setIncludeGlobs(List<String> includeGlobs) {
+        this.includeGlobs = includeGlobs != null ? List.copyOf(includeGlobs) : List.of();
+    }
+
+    /**
+     * Bu glob'lara uyan dosya ve klasörler atlanır (.gitignore söz dizimi, kök dizine göre;
+     * ör. "generated/", "*.min.js", "!keep.txt"). Klasörler içleri listelenmeden atlanır.
+     */
+    public void setExcludeGlobs(List<String> excludeGlobs) {
+        this.excludeGlobs = excludeGlobs != null ? List.copyOf(excludeGlobs) : List.of();
+    }
+
+    /**
+     * Bundan büyük dosyalar taranmaz (0 = sınırsız). Varsayılan 64 MB.
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = Math.max(0, maxFileSize);
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * BOM'u olmayan ve geçerli UTF-8 olmayan dosyaların okunacağı charset. Varsayılan windows-1254.
+     * Bu dosyalardaki sonuçların satır metni taramada okunduğu haliyle sonuçta tutulur.
+     */
+    public void setFallbackCharset(Charset fallbackCharset) {
+        this.fallbackCharset = fallbackCharset != null ? fallbackCharset : FileScanner.DEFAULT_FALLBACK_CHARSET;
+    }
+
+    public Charset getFallbackCharset() {
+        return fallbackCharset;
+    }
+
+    /**
+     * Dışarıdan verilen ForkJoinPool ile tarama yapar; verilmezse her arama için
+     * parallelism değerine göre geçici bir havuz oluşturulur
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Sonuç önbelleğini açar/kapatır (varsayılan açık). Açıkken tamamlanan aramaların sonuçları
+     * süreç genelinde paylaşılan bir LRU önbellekte tutulur. Aynı arama tekrarlandığında ağaç
+     * dosyalar okunmadan listelenir ve dosyaların yolu, boyutu ve değişiklik zamanı değişmemişse
+     * sonuçlar taranmadan döner; daraltılan bir aramada (ör. sonuna karakter eklenmiş terim)
+     * yalnızca önceki aramada sonuç veren dosyalar taranır.
+     */
+    public void setUseResultCache(boolean useResultCache) {
+        this.useResultCache = useResultCache;
+    }
+
+    /**
+     * Sonuç önbelleğinin tahmini toplam boyut sınırı (varsayılan 64 MB); aşılınca en uzun süredir
+     * kullanılmayan aramalar düşer. Sınırdan büyük sonuç kümeleri önbelleğe alınmaz.
+     */
+    public static void setResultCacheLimit(long bytes) {
+        ResultCache.setLimit(bytes);
+    }
+
+    /**
+     * Sonuç önbelleğini boşaltır
+     */
+    public static void clearResultCache() {
+        ResultCache.clear();
+    }
 }
 
@@ -0,0 +1,578 @@
+package tr.com.envapp.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+
+/**
+ * Dosyaları satır satır String'e çevirmeden, UTF-8 byte'ları üzerinde arayan tarayıcı.
+ *
+ * Küçük dosyalar thread'e ait tek bir buffer'a FileChannel ile toplu okunur, büyük dosyalar
+ * memory-map edilir. Sorgu CompiledQuery ile bir kez hazırlanır; yalnızca eşleşme bulunan
+ * satır String'e çevrilir ve satır numarası sadece bu durumda hesaplanır. Byte seviyesinde
+ * aranamayan sorgularda dosya thread'e ait bir char buffer'a (memory-map edilen büyük dosyalar
+ * tek seferlik bir buffer'a) decode edilir.
+ *
+ * Dosyanın türü içeriğinden anlaşılır: ilk bloğunda NUL byte olan dosyalar binary sayılıp
+ * atlanır (büyük dosyalarda map edilmeden önce), BOM varsa dosya BOM'un charset'iyle okunur.
+ * Geçerli UTF-8 olmayan metin dosyaları yedek charset ile decode edilir.
+ */
+final class FileScanner {
+
+    // Bu boyutun üzerindeki dosyalar okunmak yerine memory-map edilir
+    private static final int MAP_THRESHOLD = 4 * 1024 * 1024;
+    // Büyük dosyalarda iptal kontrolleri arasında taranan yaklaşık byte/char sayısı
+    private static final int CANCEL_CHECK_INTERVAL = 256 * 1024;
+    // Binary kontrolü için dosyanın başından bakılan byte sayısı (git ile aynı)
+    static final int SNIFF_LENGTH = 8000;
+    // BOM'suz ve geçerli UTF-8 olmayan dosyalar için varsayılan charset (Türkçe Windows kodlaması)
+    static final Charset DEFAULT_FALLBACK_CHARSET = Charset.forName("windows-1254");
+    // Thread başına saklanan decode buffer'ının üst sınırı (char); daha büyük dosyalar tek seferlik buffer'a decode edilir
+    private static final int MAX_RETAINED_CHARS = MAP_THRESHOLD;
+
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(64 * 1024));
+    private static final ThreadLocal<CharBuffer> CHAR_BUFFER =
+        ThreadLocal.withInitial(() -> CharBuffer.allocate(64 * 1024));
+    private static final ThreadLocal<CharsetDecoder> STRICT_DECODER =
+        ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT));
+
+    private FileScanner() {
+    }
+
+    /**
+     * Dosyanın ilk bloğundan anlaşılan içerik türü
+     */
+    enum Encoding {
+        BINARY(null, 0),
+        // BOM'suz metin: geçerli UTF-8 ise UTF-8, değilse yedek charset
+        TEXT(null, 0),
+        UTF8_BOM(StandardCharsets.UTF_8, 3),
+        UTF16_BE(StandardCharsets.UTF_16BE, 2),
+        UTF16_LE(StandardCharsets.UTF_16LE, 2);
+
+        // BOM'un belirlediği charset; BINARY ve TEXT için null
+        final Charset charset;
+        final int bomLength;
+
+        Encoding(Charset charset, int bomLength) {
+            this.charset = charset;
+            this.bomLength = bomLength;
+        }
+    }
+
+    /**
+     * Eşleşen satırları alan callback.
+     * Offset'ler dosyanın UTF-8 byte'ları üzerindedir; satır metni sonradan dosyadan yeniden okunabilir.
+     */
+    interface LineHandler {
+        /**
+         * @param lineNumber 1'den başlayan satır numarası
+         * @param line Satır metni (satır sonu hariç)
+         * @param lineOffset Satırın dosyadaki başlangıç byte offset'i; dosya geçerli UTF-8 değilse
+         *                   ve offset decode edilmiş metinden hesaplandıysa (güvenilmez) -1
+         * @param lineLength Satırın byte uzunluğu (satır sonu hariç)
+         * @param matchStart Eşleşmenin satır içindeki başlangıç byte offset'i
+         * @param matchEnd Eşleşmenin satır içindeki bitiş byte offset'i
+         * @param term Satırda eşleşen terimin CompiledQuery.terms içindeki sırası
+         */
+        void onLine(int lineNumber, String line, int lineOffset, int lineLength, int matchStart, int matchEnd, int term);
+    }
+
+    /**
+     * Dosyada derlenmiş sorguyu arar ve eşleşen her satırı handler'a verir.
+     * Binary dosyalar taranmaz; boyut sınırı çağıran tarafından, listelemede okunan boyutla uygulanır.
+     * @param file Taranacak dosya
+     * @param size Dosyanın listelemede okunan boyutu; dosya için ayrıca stat yapılmaz
+     * @param query Derlenmiş sorgu
+     * @param fallbackCharset BOM'suz ve geçerli UTF-8 olmayan dosyaların charset'i
+     * @param handler Eşleşen satırları alan callback
+     * @param cancelled Tarama sırasında periyodik olarak sorulur; true dönerse tarama bırakılır
+     * @return Dosyanın okunan byte sayısı
+     */
+    static long scan(Path file, long size, CompiledQuery query, Charset fallbackCharset,
+                     LineHandler handler, BooleanSupplier cancelled) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer;
+            if (size > MAP_THRESHOLD) {
+                // Dosyanın sonunun ötesi map edilemez; listelemeden sonra küçülmüş olabilir
+                size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("Dosya çok büyük: " + size + " byte");
+                }
+                // Binary dosyalar map edilmeden, ilk bloğuna bakılarak atlanır
+                ByteBuffer head = readFully(channel, SNIFF_LENGTH);
+                if (sniff(head) == Encoding.BINARY) {
+                    return head.limit();
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                // Dosya listelemeden sonra kısalmışsa okunabilen kadarı taranır
+                buffer = readFully(channel, (int) size);
+                size = buffer.limit();
+            }
+
+            Encoding encoding = sniff(buffer);
+            if (encoding == Encoding.BINARY) {
+                return buffer.limit();
+            }
+            if (encoding.bomLength > 0) {
+                // BOM atlanır; offset'ler dosyanın başına göre raporlanmaya devam eder
+                buffer.position(encoding.bomLength);
+                buffer = buffer.slice();
+                handler = shifted(handler, encoding.bomLength);
+            }
+
+            if (encoding.charset != null && encoding.charset != StandardCharsets.UTF_8) {
+                // UTF-16: satırların byte offset'leri UTF-8 olmadığından metinleri sonuçta tutulur
+                scanText(decode(buffer, lenientDecoder(encoding.charset)), false, query, handler, cancelled);
+            } else if (!query.requiresLineScan() && query.canScanBytes(buffer, buffer.limit())
+                    && (query.hasCharsetIndependentBytes() || isValidUtf8(buffer, buffer.limit()))
+                    && scanBytes(buffer, buffer.limit(), query, handler, cancelled, query.hasCharsetIndependentBytes())) {
+                return size;
+            } else {
+                CharBuffer chars = decodeStrict(buffer);
+                // Geçersiz UTF-8'de char'lardan hesaplanan byte offset'leri dosyayla örtüşmez
+                boolean exactOffsets = chars != null;
+                if (chars == null) {
+                    chars = decode(buffer, lenientDecoder(fallbackCharset));
+                }
+                scanText(chars, exactOffsets, query, handler, cancelled);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Dosyanın içerik türünü ilk bloğuna bakarak belirler
+     */
+    static Encoding sniff(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return sniff(readFully(channel, (int) Math.min(SNIFF_LENGTH, channel.size())));
+        }
+    }
+
+    /**
+     * BOM'a, yoksa ilk SNIFF_LENGTH byte'ta NUL olup olmamasına bakar
+     */
+    static Encoding sniff(ByteBuffer buf) {
+        int limit = buf.limit();
+        if (limit >= 2) {
+            int b0 = buf.get(0) & 0xFF;
+            int b1 = buf.get(1) & 0xFF;
+            if (b0 == 0xFE && b1 == 0xFF) {
+                return Encoding.UTF16_BE;
+            }
+            if (b0 == 0xFF && b1 == 0xFE) {
+                return Encoding.UTF16_LE;
+            }
+            if (limit >= 3 && b0 == 0xEF && b1 == 0xBB && (buf.get(2) & 0xFF) == 0xBF) {
+                return Encoding.UTF8_BOM;
+            }
+        }
+        int end = Math.min(limit, SNIFF_LENGTH);
+        for (int i = 0; i < end; i++) {
+            if (buf.get(i) == 0) {
+                return Encoding.BINARY;
+            }
+        }
+        return Encoding.TEXT;
+    }
+
+    /**
+     * [0, limit) aralığı geçerli UTF-8 mi (Java'nın UTF-8 decoder'ı ile aynı kurallar:
+     * fazla uzun kodlamalar, surrogate'ler ve U+10FFFF üstü geçersiz)
+     */
+    static boolean isValidUtf8(ByteBuffer buf, int limit) {
+        int i = 0;
+        while (i < limit) {
+            int b = buf.get(i) & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int continuation;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+            } else {
+                return false;
+            }
+            if (i + continuation >= limit) {
+                return false;
+            }
+            int b1 = buf.get(i + 1) & 0xFF;
+            if ((b == 0xE0 && b1 < 0xA0) || (b == 0xED && b1 > 0x9F)
+                    || (b == 0xF0 && b1 < 0x90) || (b == 0xF4 && b1 > 0x8F)) {
+                return false;
+            }
+            for (int k = 1; k <= continuation; k++) {
+                if ((buf.get(i + k) & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    private static LineHandler shifted(LineHandler handler, int offset) {
+        return (lineNumber, line, lineOffset, lineLength, matchStart, matchEnd, term) ->
+            handler.onLine(lineNumber, line, lineOffset < 0 ? lineOffset : lineOffset + offset,
+                lineLength, matchStart, matchEnd, term);
+    }
+
+    private static void scanText(CharBuffer chars, boolean exactOffsets, CompiledQuery query, LineHandler handler,
+                                 BooleanSupplier cancelled) {
+        if (query.requiresLineScan()) {
+            scanAllLines(chars, exactOffsets, query, handler, cancelled);
+        } else {
+            scanChars(chars, exactOffsets, query, handler, cancelled);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = READ_BUFFER.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+            READ_BUFFER.set(buffer);
+        }
+        buffer.clear();
+        buffer.limit(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @param verifyUtf8 Dosyanın UTF-8 olduğu henüz doğrulanmadıysa true; ilk eşleşmede doğrulanır
+     * @return Dosya UTF-8 değilse false (henüz hiçbir satır raporlanmamıştır), aksi halde true
+     */
+    private static boolean scanBytes(ByteBuffer buf, int limit, CompiledQuery query, LineHandler handler,
+                                     BooleanSupplier cancelled, boolean verifyUtf8) {
+        if (limit < query.byteLength()) {
+            return true;
+        }
+        BitSet terms = query.terms.size() > 1 ? new BitSet() : null;
+        int[] starts = terms != null ? new int[query.terms.size()] : null;
+        Matcher matcher = query.regex != null ? query.regex.matcher("") : null;
+        int lineNumber = 1;
+        int countedUpTo = 0;
+        int pos = 0;
+
+        while (pos < limit) {
+            if (cancelled.getAsBoolean()) {
+                return true;
+            }
+            // Büyük dosyalar satır sınırında biten parçalar halinde aranır, parça aralarında iptal kontrol edilir
+            int windowEnd = limit - pos > CANCEL_CHECK_INTERVAL ? lineEnd(buf, pos + CANCEL_CHECK_INTERVAL, limit) : limit;
+            int hit = query.findBytes(buf, pos, windowEnd);
+            if (hit < 0) {
+                pos = windowEnd + 1;
+                continue;
+            }
+            if (verifyUtf8) {
+                // Eşleşme olmayan dosyalar hiç doğrulanmaz; satırlar UTF-8 olarak decode edileceği için burada bakılır
+                if (!isValidUtf8(buf, limit)) {
+                    return false;
+                }
+                verifyUtf8 = false;
+            }
+
+            int lineStart = lineStart(buf, hit);
+            int lineEnd = lineEnd(buf, hit, limit);
+
+            // Satır numarası yalnızca eşleşme olduğunda, son hesaplanan yerden itibaren sayılır
+            lineNumber += countLineBreaks(buf, countedUpTo, lineStart, limit);
+            countedUpTo = lineStart;
+
+            String line = decode(buf, lineStart, lineEnd);
+            int lineLength = lineEnd - lineStart;
+            if (matcher != null) {
+                // Literal'i içeren aday satırda regex'i doğrula
+                if (matcher.reset(line).find()) {
+                    int matchStart = utf8Length(line, 0, matcher.start());
+                    handler.onLine(lineNumber, line, lineStart, lineLength,
+                        matchStart, matchStart + utf8Length(line, matcher.start(), matcher.end()), 0);
+                }
+            } else if (terms == null) {
+                handler.onLine(lineNumber, line, lineStart, lineLength,
+                    hit - lineStart, hit - lineStart + query.termByteLength(0), 0);
+            } else {
+                // Birden fazla terimde satırdaki tüm terimler ayrı ayrı raporlanır
+                terms.clear();
+                query.termsInBytes(buf, lineStart, lineEnd, terms, starts);
+                for (int t = terms.nextSetBit(0); t >= 0; t = terms.nextSetBit(t + 1)) {
+                    handler.onLine(lineNumber, line, lineStart, lineLength,
+                        starts[t] - lineStart, starts[t] - lineStart + query.termByteLength(t), t);
+                }
+            }
+            pos = lineEnd + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Byte seviyesinde aranamayan sorgular için dosyanın bir kez decode edilmiş halini aynı şekilde tarar
+     * @param exactOffsets Metin dosyanın geçerli UTF-8 byte'larından decode edildiyse true;
+     *                     değilse satır offset'leri -1 olarak raporlanır
+     */
+    private static void scanChars(CharBuffer chars, boolean exactOffsets, CompiledQuery query, LineHandler handler,
+                                  BooleanSupplier cancelled) {
+        char[] text = chars.array();
+        int limit = chars.limit();
+        BitSet terms = query.terms.size() > 1 ? new BitSet() : null;
+        int[] starts = terms != null ? new int[query.terms.size()] : null;
+        Matcher matcher = query.regex != null ? query.regex.matcher(CharBuffer.wrap(text, 0, limit)) : null;
+        int lineNumber = 1;
+        int countedUpTo = 0;
+        // countedUpTo'dan önceki metnin UTF-8 byte uzunluğu
+        int byteOffset = 0;
+        int pos = 0;
+
+        while (pos < limit) {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            int windowEnd = limit - pos > CANCEL_CHECK_INTERVAL ? lineEnd(text, pos + CANCEL_CHECK_INTERVAL, limit) : limit;
+            int hit = query.findChars(text, pos, windowEnd);
+            if (hit < 0) {
+                pos = windowEnd + 1;
+                continue;
+            }
+
+            int lineStart = hit;
+            while (lineStart > 0 && text[lineStart - 1] != '\n' && text[lineStart - 1] != '\r') {
+                lineStart--;
+            }
+            int lineEnd = lineEnd(text, hit, limit);
+
+            for (int i = countedUpTo; i < lineStart; i++) {
+                if (text[i] == '\n' || (text[i] == '\r' && (i + 1 >= limit || text[i + 1] != '\n'))) {
+                    lineNumber++;
+                }
+            }
+            byteOffset += utf8Length(text, countedUpTo, lineStart);
+            countedUpTo = lineStart;
+            int lineLength = utf8Length(text, lineStart, lineEnd);
+
+            if (matcher != null) {
+                if (matcher.region(lineStart, lineEnd).find()) {
+                    int matchStart = utf8Length(text, lineStart, matcher.start());
+                    handler.onLine(lineNumber, new String(text, lineStart, lineEnd - lineStart), exactOffsets ? byteOffset : -1, lineLength,
+                        matchStart, matchStart + utf8Length(text, matcher.start(), matcher.end()), 0);
+                }
+                pos = lineEnd + 1;
+                continue;
+            }
+
+            String line = new String(text, lineStart, lineEnd - lineStart);
+            if (terms == null) {
+                int matchStart = utf8Length(text, lineStart, hit);
+                handler.onLine(lineNumber, line, exactOffsets ? byteOffset : -1, lineLength,
+                    matchStart, matchStart + utf8Length(text, hit, hit + query.termCharLength(0)), 0);
+            } else {
+                terms.clear();
+                query.termsInChars(text, lineStart, lineEnd, terms, starts);
+                for (int t = terms.nextSetBit(0); t >= 0; t = terms.nextSetBit(t + 1)) {
+                    int matchStart = utf8Length(text, lineStart, starts[t]);
+                    handler.onLine(lineNumber, line, exactOffsets ? byteOffset : -1, lineLength,
+                        matchStart, matchStart + utf8Length(text, starts[t], starts[t] + query.termCharLength(t)), t);
+                }
+            }
+            pos = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Literal ön filtresi olmayan regex sorgularında her satırı regex ile kontrol eder.
+     * Matcher satır sınırlarıyla (region) çalıştırılır, eşleşmeyen satırlar için String oluşmaz.
+     */
+    private static void scanAllLines(CharBuffer chars, boolean exactOffsets, CompiledQuery query, LineHandler handler,
+                                     BooleanSupplier cancelled) {
+        char[] text = chars.array();
+        int limit = chars.limit();
+        Matcher matcher = query.regex.matcher(CharBuffer.wrap(text, 0, limit));
+        int lineNumber = 1;
+        int lineStart = 0;
+        int nextCancelCheck = 0;
+        // Byte offset'i yalnızca eşleşen satırlarda, son hesaplanan yerden itibaren ilerletilir
+        int countedUpTo = 0;
+        int byteOffset = 0;
+
+        while (lineStart <= limit) {
+            if (lineStart >= nextCancelCheck) {
+                if (cancelled.getAsBoolean()) {
+                    return;
+                }
+                nextCancelCheck = lineStart + CANCEL_CHECK_INTERVAL;
+            }
+            int lineEnd = lineEnd(text, lineStart, limit);
+            if (lineEnd == limit && lineStart == limit) {
+                // Son satır sonundan sonra boş satır yok (BufferedReader.readLine ile aynı)
+                return;
+            }
+            if (matcher.region(lineStart, lineEnd).find()) {
+                byteOffset += utf8Length(text, countedUpTo, lineStart);
+                countedUpTo = lineStart;
+                int matchStart = utf8Length(text, lineStart, matcher.start());
+                handler.onLine(lineNumber, new String(text, lineStart, lineEnd - lineStart), exactOffsets ? byteOffset : -1,
+                    utf8Length(text, lineStart, lineEnd), matchStart,
+                    matchStart + utf8Length(text, matcher.start(), matcher.end()), 0);
+            }
+            lineNumber++;
+            if (lineEnd + 1 < limit && text[lineEnd] == '\r' && text[lineEnd + 1] == '\n') {
+                lineEnd++;
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Geçersiz byte'ları U+FFFD ile değiştiren decoder
+     */
+    static CharsetDecoder lenientDecoder(Charset charset) {
+        return charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Dosyayı geçersiz byte'ları değiştirmeden decode eder
+     * @return Dosya geçerli UTF-8 değilse null
+     */
+    private static CharBuffer decodeStrict(ByteBuffer buf) {
+        return decode(buf, STRICT_DECODER.get());
+    }
+
+    private static CharBuffer decode(ByteBuffer buf, CharsetDecoder decoder) {
+        decoder.reset();
+        // UTF-8 ve tek byte'lı charset'lerde her byte en fazla bir char üretir
+        int needed = (int) Math.ceil(buf.limit() * (double) decoder.maxCharsPerByte());
+        CharBuffer chars = CHAR_BUFFER.get();
+        if (needed > MAX_RETAINED_CHARS) {
+            // Büyük (memory-map edilmiş) dosyanın buffer'ı thread'de tutulmaz, tarama bitince GC'ye kalır
+            chars = CharBuffer.allocate(needed);
+        } else if (chars.capacity() < needed) {
+            chars = CharBuffer.allocate(Math.min(Math.max(needed, chars.capacity() * 2), MAX_RETAINED_CHARS));
+            CHAR_BUFFER.set(chars);
+        }
+        chars.clear();
+        if (decoder.decode(buf.duplicate(), chars, true).isError() || decoder.flush(chars).isError()) {
+            return null;
+        }
+        chars.flip();
+        return chars;
+    }
+
+    private static int lineEnd(char[] text, int pos, int limit) {
+        int i = pos;
+        while (i < limit && text[i] != '\n' && text[i] != '\r') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lineStart(ByteBuffer buf, int pos) {
+        int i = pos;
+        while (i > 0) {
+            byte b = buf.get(i - 1);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            i--;
+        }
+        return i;
+    }
+
+    private static int lineEnd(ByteBuffer buf, int pos, int limit) {
+        int i = pos;
+        while (i < limit) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * [from, to) aralığındaki satır sonlarını BufferedReader.readLine ile aynı kuralla sayar
+     * (\n, \r ve \r\n tek satır sonu)
+     */
+    private static int countLineBreaks(ByteBuffer buf, int from, int to, int limit) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == '\n') {
+                count++;
+            } else if (b == '\r' && (i + 1 >= limit || buf.get(i + 1) != '\n')) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * [from, to) aralığındaki char'ların UTF-8 olarak byte uzunluğu
+     */
+    static int utf8Length(CharSequence text, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            length += utf8Length(text.charAt(i));
+        }
+        return length;
+    }
+
+    private static int utf8Length(char[] text, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            length += utf8Length(text[i]);
+        }
+        return length;
+    }
+
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800) {
+            return 2;
+        }
+        // Surrogate çiftinin her yarısı 2 byte sayılır (toplam 4)
+        return Character.isSurrogate(c) ? 2 : 3;
+    }
+
+    private static String decode(ByteBuffer buf, int from, int to) {
+        if (buf.hasArray()) {
+            return new String(buf.array(), buf.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,192 @@
+package tr.com.envapp.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Taramada gezilen bir klasör.
+ *
+ * Klasör Files.walkFileTree ile tek seviye listelenir; böylece her girişin öznitelikleri
+ * listeleme sırasında bir kez okunur (Windows'ta dizin listesinden gelir, ek sistem çağrısı
+ * yapılmaz). Klasör/dosya ayrımı, dosya boyutu ve değişiklik zamanı bu özniteliklerden alınır.
+ * Sembolik linkler izlenir, ancak hedefi gezilen yolun üzerindeki bir klasör olan linkler
+ * (döngü) atlanır. Üst klasör filtresinin eşleşme durumu ve ignore kuralları da klasörden
+ * alt klasörlerine taşınır, dosya başına üst klasörler yeniden gezilmez.
+ */
+final class Folder {
+
+    final Path path;
+    // Listelenecek dizin: link üzerinden girilen klasörlerde hedefin gerçek yolu, aksi halde path
+    private final Path listPath;
+    // Bu klasörün bulunduğu klasördeki ignore kuralları; listelenince enter ile bu klasöre girilir
+    final IgnoreRules parentRules;
+    // Bu klasör veya üst klasörlerinden biri üst klasör filtresine uyuyor mu (filtre yoksa true)
+    final boolean matchesParentFilter;
+    private final Folder parent;
+    // Dosya sistemindeki kimliği (Unix'te cihaz + inode); desteklenmiyorsa null
+    private final Object fileKey;
+    private final String parentFolderFilter;
+
+    private Folder(Path path, Path listPath, IgnoreRules parentRules, boolean matchesParentFilter, Folder parent,
+                   Object fileKey, String parentFolderFilter) {
+        this.path = path;
+        this.listPath = listPath;
+        this.parentRules = parentRules;
+        this.matchesParentFilter = matchesParentFilter;
+        this.parent = parent;
+        this.fileKey = fileKey;
+        this.parentFolderFilter = parentFolderFilter;
+    }
+
+    /**
+     * Taramanın başladığı klasör. Filtre, kök dizinin kendisi ve üst dizinleri için bir kez kontrol edilir.
+     * @param parentFolderFilter Küçük harfe çevrilmiş üst klasör filtresi; null = filtre yok
+     */
+    static Folder root(File directory, IgnoreRules parentRules, String parentFolderFilter) {
+        Path path = directory.toPath().toAbsolutePath();
+        boolean matches = parentFolderFilter == null;
+        for (File dir = directory.getAbsoluteFile(); dir != null && !matches; dir = dir.getParentFile()) {
+            matches = dir.getName().toLowerCase().equals(parentFolderFilter);
+        }
+        Path listPath = path;
+        Object fileKey = null;
+        try {
+            // Kök dizinin kendisi bir link olabilir
+            listPath = path.toRealPath();
+            fileKey = Files.readAttributes(listPath, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+            // Kimlik alınamazsa döngü kontrolü yol karşılaştırmasıyla yapılır
+        }
+        return new Folder(path, listPath, parentRules, matches, null, fileKey, parentFolderFilter);
+    }
+
+    /**
+     * Klasörün girişlerini öznitelikleriyle listeler. Okunamayan girişler (kırık linkler,
+     * izin hataları) atlanır; klasör okunamazsa boş liste döner. Girişlerin yolları, klasöre
+     * link üzerinden girildiyse de link üzerinden verilir.
+     */
+    List<Entry> list() {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            Files.walkFileTree(listPath, Set.of(), 1, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Path entry = path.resolve(file.getFileName());
+                    if (attrs.isSymbolicLink()) {
+                        // Linkin hedefinin öznitelikleri yalnızca linkler için ayrıca okunur
+                        try {
+                            entries.add(new Entry(entry, Files.readAttributes(file, BasicFileAttributes.class), true));
+                        } catch (IOException e) {
+                            // Kırık link
+                        }
+                    } else {
+                        entries.add(new Entry(entry, attrs, false));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // Klasör okunamadı; listFiles() gibi sessizce atlanır
+        }
+        return entries;
+    }
+
+    /**
+     * Alt klasöre girer
+     * @param rules Bu klasörün ignore kuralları
+     * @return Giriş gezilen yoldaki bir klasöre dönen bir link ise (döngü) null
+     */
+    Folder child(Entry entry, IgnoreRules rules) {
+        Object key = entry.attributes.fileKey();
+        Path childListPath = listPath.resolve(entry.name);
+        if (entry.symbolicLink) {
+            if (leadsToAncestor(childListPath, key)) {
+                return null;
+            }
+            try {
+                childListPath = childListPath.toRealPath();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        boolean matches = matchesParentFilter || entry.name.toLowerCase().equals(parentFolderFilter);
+        return new Folder(entry.path, childListPath, rules, matches, this, key, parentFolderFilter);
+    }
+
+    private boolean leadsToAncestor(Path target, Object key) {
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            if (key != null && folder.fileKey != null) {
+                if (key.equals(folder.fileKey)) {
+                    return true;
+                }
+            } else {
+                try {
+                    if (Files.isSameFile(target, folder.listPath)) {
+                        return true;
+                    }
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bir klasör girişi ve listelemede okunan öznitelikleri (linklerde hedefin öznitelikleri)
+     */
+    static final class Entry {
+        final Path path;
+        final String name;
+        final BasicFileAttributes attributes;
+        final boolean symbolicLink;
+
+        Entry(Path path, BasicFileAttributes attributes, boolean symbolicLink) {
+            this.path = path;
+            this.name = path.getFileName().toString();
+            this.attributes = attributes;
+            this.symbolicLink = symbolicLink;
+        }
+
+        boolean isDirectory() {
+            return attributes.isDirectory();
+        }
+
+        /**
+         * Normal dosya mı (cihaz, soket gibi özel dosyalar taranmaz)
+         */
+        boolean isFile() {
+            return attributes.isRegularFile();
+        }
+
+        long size() {
+            return attributes.size();
+        }
+
+        long lastModified() {
+            return attributes.lastModifiedTime().toMillis();
+        }
+
+        /**
+         * Yol, boyut ve değişiklik zamanının özeti; dosyaların özetlerinin toplamı ağacın parmak izidir
+         */
+        long fingerprint() {
+            long h = path.toString().hashCode() * 0x9E3779B97F4A7C15L + size();
+            h = (h ^ (h >>> 29)) * 0xBF58476D1CE4E5B9L + lastModified();
+            return h ^ (h >>> 32);
+        }
+    }
+}
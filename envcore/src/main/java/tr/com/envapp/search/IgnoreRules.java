@@ -0,0 +1,288 @@
+package tr.com.envapp.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Taramada atlanacak dosya ve klasörleri belirleyen kurallar.
+ *
+ * Her klasör için bir örnek oluşturulur (enter); klasörde .gitignore veya .ignore varsa
+ * kuralları git'in söz dizimiyle okunur ve o klasörün altına uygulanır. Bir dosya için önce
+ * en derindeki kural dosyasına bakılır; bir dosyada son eşleşen kural ("!" ile geri alma dahil)
+ * karar verir, eşleşme yoksa bir üst klasörün kurallarına geçilir. Atlanan klasörlerin içi hiç
+ * listelenmez. Kural dosyaları arama kök dizininden itibaren okunur, üst dizinlerdekiler okunmaz.
+ *
+ * Kullanıcının verdiği exclude glob'ları kök dizine göre aynı söz dizimiyle yorumlanır ve kural
+ * dosyalarından önce gelir; include glob'ları verildiyse yalnızca bunlardan birine uyan dosyalar
+ * taranır (klasörlere uygulanmaz).
+ */
+final class IgnoreRules {
+
+    private static final String[] IGNORE_FILES = {".gitignore", ".ignore"};
+    // Windows'ta git gibi büyük/küçük harf duyarsız eşleştirilir
+    private static final boolean IGNORE_CASE = File.separatorChar == '\\';
+
+    private final boolean readIgnoreFiles;
+    private final List<Glob> includes;
+    private final List<Glob> excludes;
+    // Klasörün kök dizine göre yolu ("" = kök, aksi halde '/' ile biter); null = kök dizinin üstü
+    private final String path;
+    // Bu klasördeki kural dosyalarından okunan kurallar
+    private final List<Glob> rules;
+    // Kuralı olan en yakın üst klasör
+    private final IgnoreRules outer;
+
+    private IgnoreRules(boolean readIgnoreFiles, List<Glob> includes, List<Glob> excludes,
+                        String path, List<Glob> rules, IgnoreRules outer) {
+        this.readIgnoreFiles = readIgnoreFiles;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.path = path;
+        this.rules = rules;
+        this.outer = outer;
+    }
+
+    /**
+     * Bir aramanın kuralları; dönen örnek kök dizinin üstünü temsil eder, kök dizin enter ile girilir
+     * @param readIgnoreFiles .gitignore ve .ignore dosyaları okunsun mu
+     * @param includes Taranacak dosyaların glob'ları (boş = hepsi)
+     * @param excludes Atlanacak dosya ve klasörlerin glob'ları
+     */
+    static IgnoreRules forSearch(boolean readIgnoreFiles, List<String> includes, List<String> excludes) {
+        return new IgnoreRules(readIgnoreFiles, parseAll(includes), parseAll(excludes), null, List.of(), null);
+    }
+
+    private static List<Glob> parseAll(List<String> patterns) {
+        List<Glob> globs = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                Glob glob = Glob.parse(pattern);
+                if (glob != null) {
+                    globs.add(glob);
+                }
+            }
+        }
+        return List.copyOf(globs);
+    }
+
+    /**
+     * Bu klasörün alt klasörüne girer
+     * @param directory Alt klasör (kök dizinin üstünden girilirse kök dizinin kendisi)
+     * @param entries Alt klasörün listesi; kural dosyaları burada aranır, ek dosya sistemi çağrısı yapılmaz
+     */
+    IgnoreRules enter(Path directory, List<Folder.Entry> entries) {
+        String childPath = path == null ? "" : path + directory.getFileName() + "/";
+        List<Glob> childRules = readIgnoreFiles ? readRules(directory, entries) : List.of();
+        IgnoreRules nearest = rules.isEmpty() ? outer : this;
+        return new IgnoreRules(readIgnoreFiles, includes, excludes, childPath, childRules, nearest);
+    }
+
+    private static List<Glob> readRules(Path directory, List<Folder.Entry> entries) {
+        List<Glob> rules = null;
+        for (String ignoreFile : IGNORE_FILES) {
+            if (!contains(entries, ignoreFile)) {
+                continue;
+            }
+            Path file = directory.resolve(ignoreFile);
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Glob glob = Glob.parse(line);
+                    if (glob != null) {
+                        if (rules == null) {
+                            rules = new ArrayList<>();
+                        }
+                        rules.add(glob);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Ignore dosyası okunamadı: " + file + " - " + e.getMessage());
+            }
+        }
+        return rules != null ? rules : List.of();
+    }
+
+    private static boolean contains(List<Folder.Entry> entries, String name) {
+        for (Folder.Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bu klasördeki bir dosya veya alt klasör atlanmalı mı
+     * @param name Dosya veya klasörün adı
+     * @param directory Klasör ise true
+     */
+    boolean isExcluded(String name, boolean directory) {
+        String relative = path + name;
+        if (!directory && !includes.isEmpty() && decide(includes, relative, name, false) != Boolean.TRUE) {
+            return true;
+        }
+        Boolean excluded = decide(excludes, relative, name, directory);
+        if (excluded != null) {
+            return excluded;
+        }
+        for (IgnoreRules level = rules.isEmpty() ? outer : this; level != null; level = level.outer) {
+            excluded = decide(level.rules, relative.substring(level.path.length()), name, directory);
+            if (excluded != null) {
+                return excluded;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Include glob'ları verildi mi; verildiyse dosyalar uzantı listesi yerine bunlarla seçilir
+     */
+    boolean hasIncludes() {
+        return !includes.isEmpty();
+    }
+
+    /**
+     * Son eşleşen kuralın kararı: true = eşleşti, false = "!" ile geri alındı, null = eşleşen kural yok
+     */
+    private static Boolean decide(List<Glob> globs, String relative, String name, boolean directory) {
+        for (int i = globs.size() - 1; i >= 0; i--) {
+            Glob glob = globs.get(i);
+            if (glob.matches(relative, name, directory)) {
+                return !glob.negated;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tek bir .gitignore satırı
+     */
+    static final class Glob {
+        final boolean negated;
+        // "/" ile biten kurallar yalnızca klasörlere uyar
+        final boolean directoryOnly;
+        // Ortasında "/" olan kurallar klasöre göre yolun tamamıyla, diğerleri yalnızca adla eşleşir
+        final boolean matchesPath;
+        // Joker karakter içermeyen kurallar regex'siz karşılaştırılır
+        private final String literal;
+        private final Pattern pattern;
+
+        private Glob(boolean negated, boolean directoryOnly, boolean matchesPath, String literal, Pattern pattern) {
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+            this.matchesPath = matchesPath;
+            this.literal = literal;
+            this.pattern = pattern;
+        }
+
+        /**
+         * @return Boş satır veya yorum ise null
+         */
+        static Glob parse(String line) {
+            String glob = stripTrailingSpaces(line);
+            if (glob.isEmpty() || glob.startsWith("#")) {
+                return null;
+            }
+            boolean negated = glob.startsWith("!");
+            if (negated) {
+                glob = glob.substring(1);
+            } else if (glob.startsWith("\\#") || glob.startsWith("\\!")) {
+                glob = glob.substring(1);
+            }
+            boolean directoryOnly = glob.endsWith("/");
+            while (glob.endsWith("/")) {
+                glob = glob.substring(0, glob.length() - 1);
+            }
+            if (glob.isEmpty()) {
+                return null;
+            }
+            boolean matchesPath = glob.indexOf('/') >= 0;
+            if (glob.startsWith("/")) {
+                glob = glob.substring(1);
+            }
+            if (glob.indexOf('*') < 0 && glob.indexOf('?') < 0 && glob.indexOf('[') < 0 && glob.indexOf('\\') < 0) {
+                return new Glob(negated, directoryOnly, matchesPath, glob, null);
+            }
+            int flags = IGNORE_CASE ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
+            return new Glob(negated, directoryOnly, matchesPath, null, Pattern.compile(toRegex(glob), flags));
+        }
+
+        boolean matches(String relative, String name, boolean directory) {
+            if (directoryOnly && !directory) {
+                return false;
+            }
+            String subject = matchesPath ? relative : name;
+            if (literal != null) {
+                return IGNORE_CASE ? literal.equalsIgnoreCase(subject) : literal.equals(subject);
+            }
+            return pattern.matcher(subject).matches();
+        }
+
+        private static String stripTrailingSpaces(String line) {
+            int end = line.length();
+            // "\ " ile kaçırılmış boşluk korunur
+            while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\')) {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+
+        /**
+         * Glob'u regex'e çevirir: "*" ve "?" "/" dışındaki karakterlere, "**" herhangi bir klasör
+         * derinliğine uyar; [...] karakter sınıfı olarak kalır
+         */
+        private static String toRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int i = 0;
+            while (i < glob.length()) {
+                char c = glob.charAt(i);
+                boolean segmentStart = i == 0 || glob.charAt(i - 1) == '/';
+                if (c == '*' && segmentStart && glob.startsWith("**/", i)) {
+                    regex.append("(?:.*/)?");
+                    i += 3;
+                } else if (c == '*' && segmentStart && i + 2 == glob.length() && glob.startsWith("**", i)) {
+                    regex.append(".*");
+                    i += 2;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                    i++;
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                    i++;
+                } else if (c == '[') {
+                    int close = glob.indexOf(']', i + 2);
+                    if (close < 0) {
+                        regex.append("\\[");
+                        i++;
+                    } else {
+                        String set = glob.substring(i + 1, close);
+                        if (set.startsWith("!")) {
+                            set = "^" + set.substring(1);
+                        }
+                        regex.append('[').append(set.replace("\\", "\\\\").replace("[", "\\[").replace("&", "\\&")).append(']');
+                        i = close + 1;
+                    }
+                } else if (c == '\\' && i + 1 < glob.length()) {
+                    appendLiteral(regex, glob.charAt(i + 1));
+                    i += 2;
+                } else {
+                    appendLiteral(regex, c);
+                    i++;
+                }
+            }
+            return regex.toString();
+        }
+
+        private static void appendLiteral(StringBuilder regex, char c) {
+            if ("\\.[]{}()<>*+-=!?^$|&".indexOf(c) >= 0) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+    }
+}
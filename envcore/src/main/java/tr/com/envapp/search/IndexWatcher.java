@@ -0,0 +1,179 @@
+package tr.com.envapp.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index'in kök dizinini WatchService ile izler ve değişen dosyaları
+ * arka planda yeniden index'ler.
+ *
+ * Olaylar kısa bir sessizlik süresi boyunca biriktirilir, böylece bir git checkout gibi
+ * toplu değişiklikler tek seferde işlenir. Olay kaybı (OVERFLOW) olursa index
+ * dosya sistemiyle baştan karşılaştırılır.
+ */
+public class IndexWatcher implements AutoCloseable {
+
+    // Son olaydan sonra değişikliklerin işlenmesi için beklenen süre
+    private static final long QUIET_PERIOD_MS = 500;
+
+    private final TrigramIndex index;
+    private final EntitySearchService service;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final Set<Path> pendingPaths = new LinkedHashSet<>();
+    private volatile boolean running = true;
+    private boolean overflow;
+
+    private IndexWatcher(TrigramIndex index, EntitySearchService service) throws IOException {
+        this.index = index;
+        this.service = service;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerTree(Path.of(index.getBasePath()));
+
+        this.thread = new Thread(this::run, "index-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Kök dizini izlemeye başlar
+     * @param basePath Index'in kök dizini
+     * @param service Atlanacak klasör ve dosya kuralları için kullanılan servis
+     * @return Çalışan watcher; izleme başlatılamazsa null
+     */
+    public static IndexWatcher start(String basePath, EntitySearchService service) {
+        try {
+            IndexWatcher watcher = new IndexWatcher(TrigramIndex.forBasePath(basePath), service);
+            watcher.thread.start();
+            return watcher;
+        } catch (IOException e) {
+            System.err.println("Index izleme başlatılamadı: " + basePath + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    public String getBasePath() {
+        return index.getBasePath();
+    }
+
+    /**
+     * Klasörü ve atlanmayan tüm alt klasörlerini izlemeye alır
+     */
+    private void registerTree(Path dir) throws IOException {
+        dir.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+
+        try (Stream<Path> children = Files.list(dir)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)
+                        && !service.shouldSkipDirectory(child.getFileName().toString())) {
+                    registerTree(child);
+                }
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    // Sessizlik süresi doldu, biriken değişiklikleri işle
+                    applyPendingChanges();
+                    continue;
+                }
+
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                        continue;
+                    }
+                    Path child = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                            && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)
+                            && !service.shouldSkipDirectory(child.getFileName().toString())) {
+                        registerNewDirectory(child);
+                    }
+                    pendingPaths.add(child);
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() ile durduruldu
+        }
+    }
+
+    /**
+     * Yeni oluşan klasörü izlemeye alır; izlemeye girene kadar oluşmuş dosyalar da işlenmek üzere eklenir
+     */
+    private void registerNewDirectory(Path dir) {
+        try {
+            registerTree(dir);
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.filter(Files::isRegularFile).forEach(pendingPaths::add);
+            }
+        } catch (IOException e) {
+            overflow = true;
+        }
+    }
+
+    private void applyPendingChanges() {
+        if (overflow) {
+            overflow = false;
+            pendingPaths.clear();
+            service.refreshIndex(index.getBasePath());
+            return;
+        }
+        if (pendingPaths.isEmpty()) {
+            return;
+        }
+
+        for (Path path : pendingPaths) {
+            File file = path.toFile();
+            if (file.isFile()) {
+                if (service.isIndexableFile(file) && !index.isUpToDate(file)) {
+                    index.updateFile(file, service.getFallbackCharset());
+                }
+            } else if (!file.exists()) {
+                index.removeTree(file.getAbsolutePath());
+            }
+        }
+        pendingPaths.clear();
+    }
+
+    /**
+     * İzlemeyi durdurur ve index'teki değişiklikleri diske yazar
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Index izleme kapatılamadı: " + e.getMessage());
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // İzleme kapalıyken olan değişiklikler bir sonraki aramada karşılaştırılarak bulunur
+        index.setRefreshed(false);
+        index.save();
+    }
+}
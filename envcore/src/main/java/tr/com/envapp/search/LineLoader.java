@@ -0,0 +1,165 @@
+package tr.com.envapp.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sonuç satırlarını ihtiyaç anında dosyadan okuyan yardımcı.
+ *
+ * Son kullanılan satır metinleri toplam char sayısıyla sınırlı bir LRU önbellekte tutulur;
+ * tarama sırasında zaten decode edilen satırlar önbelleğe konur, böylece sonuçları hemen
+ * gösteren tüketiciler dosyayı yeniden okumaz. Önbellekten düşen satırlar gösterildiklerinde
+ * satırın byte offset'inden tekrar okunur.
+ */
+final class LineLoader {
+
+    // Önbellekte tutulan satırların toplam char sınırı
+    private static final int CACHE_CHAR_LIMIT = 4 * 1024 * 1024;
+    // Bundan uzun satırlar önbelleğe alınmaz ve önizlemede yalnızca eşleşmenin çevresi okunur
+    static final int CACHEABLE_LINE_LENGTH = 4096;
+    // Bağlam satırları için hedef satırın iki yanında okunan en fazla byte
+    private static final int CONTEXT_WINDOW = 64 * 1024;
+
+    private static final Map<SearchResult, String> CACHE = new LinkedHashMap<>(1024, 0.75f, true);
+    private static long cachedChars;
+
+    private LineLoader() {
+    }
+
+    /**
+     * Taramada decode edilmiş satırı önbelleğe koyar
+     */
+    static void remember(SearchResult result, String line) {
+        if (line.length() > CACHEABLE_LINE_LENGTH) {
+            return;
+        }
+        synchronized (CACHE) {
+            String previous = CACHE.put(result, line);
+            cachedChars += line.length() - (previous != null ? previous.length() : 0);
+            Iterator<String> eldest = CACHE.values().iterator();
+            while (cachedChars > CACHE_CHAR_LIMIT && eldest.hasNext()) {
+                cachedChars -= eldest.next().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Sonucun satırını önbellekten veya dosyadan döner
+     */
+    static String line(SearchResult result) throws IOException {
+        synchronized (CACHE) {
+            String cached = CACHE.get(result);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String line = read(result.getFilePath(), result.getLineOffset(), result.getLineLength());
+        remember(result, line);
+        return line;
+    }
+
+    /**
+     * Dosyanın [offset, offset + length) byte aralığını UTF-8 olarak okur.
+     * Aralık bir karakterin ortasından başlıyorsa yarım kalan byte'lar atlanır.
+     */
+    static String read(String filePath, long offset, int length) throws IOException {
+        byte[] bytes = readBytes(filePath, offset, length);
+        int start = 0;
+        while (start < bytes.length && (bytes[start] & 0xC0) == 0x80) {
+            start++;
+        }
+        return new String(bytes, start, bytes.length - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Dosyanın [offset, offset + length) byte aralığını okur; dosya kısaldıysa daha az byte döner
+     */
+    static byte[] readBytes(String filePath, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return readBytes(channel, offset, Math.min(channel.size(), offset + length));
+        }
+    }
+
+    private static byte[] readBytes(FileChannel channel, long from, long to) throws IOException {
+        if (from >= to) {
+            return new byte[0];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.position() == buffer.capacity() ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Sonucun satırını ve iki yanındaki en fazla radius satırı okur.
+     * Bağlam satırları satırın iki yanındaki CONTEXT_WINDOW byte ile sınırlıdır; çok uzun
+     * komşu satırlar pencere sınırında kesilir.
+     */
+    static SearchResult.LineContext context(SearchResult result, int radius) throws IOException {
+        long lineOffset = result.getLineOffset();
+        long windowStart = Math.max(0, lineOffset - CONTEXT_WINDOW);
+        int before = (int) (lineOffset - windowStart);
+        byte[] bytes = readBytes(result.getFilePath(), windowStart, before + result.getLineLength() + CONTEXT_WINDOW);
+        if (bytes.length == 0) {
+            return new SearchResult.LineContext(result.getLineNumber(), List.of());
+        }
+
+        // Hedef satırın başından geriye doğru radius satır sonu atlanır
+        int from = Math.min(before, bytes.length);
+        int linesBefore = 0;
+        while (linesBefore < radius && from > 0) {
+            int i = from - 1;
+            // Önceki satırın satır sonu (\r\n tek satır sonu)
+            if (bytes[i] == '\n' && i > 0 && bytes[i - 1] == '\r') {
+                i--;
+            }
+            while (i > 0 && bytes[i - 1] != '\n' && bytes[i - 1] != '\r') {
+                i--;
+            }
+            from = i;
+            linesBefore++;
+        }
+
+        // Hedef satırdan sonra radius satır ileri gidilir
+        int to = Math.min(before + result.getLineLength(), bytes.length);
+        for (int n = 0; n < radius && to < bytes.length; n++) {
+            int next = to + (bytes[to] == '\r' && to + 1 < bytes.length && bytes[to + 1] == '\n' ? 2 : 1);
+            if (next >= bytes.length) {
+                // Dosya satır sonuyla bitiyor, sonrasında satır yok
+                break;
+            }
+            to = next;
+            while (to < bytes.length && bytes[to] != '\n' && bytes[to] != '\r') {
+                to++;
+            }
+        }
+
+        String window = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>(2 * radius + 1);
+        int start = 0;
+        for (int i = 0; i <= window.length(); i++) {
+            if (i == window.length() || window.charAt(i) == '\n' || window.charAt(i) == '\r') {
+                lines.add(window.substring(start, i));
+                if (i + 1 < window.length() && window.charAt(i) == '\r' && window.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        return new SearchResult.LineContext(result.getLineNumber() - linesBefore, lines);
+    }
+}
@@ -0,0 +1,140 @@
+package tr.com.envapp.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir aramanın sonuç veren dosyalarını tutan yol tablosu.
+ *
+ * Her dosya ilk eşleşmesinde bir kez kaydedilir ve bir int id alır; dosya adı, proje adı
+ * (kök dizinin altındaki ilk klasör) ve proje içindeki yolu kayıt sırasında bir kez hesaplanır.
+ * Sonuçlar yol string'leri yerine tabloyu ve dosya id'sini tutar; aynı aramanın tüm sonuçları
+ * aynı tabloyu paylaşır. Proje id'leri de ilk görülme sırasına göre verilir, böylece sonuçlar
+ * dosya/proje id'siyle dizi üzerinde gruplanabilir (bkz. ResultGroups).
+ */
+public final class PathTable {
+
+    private static final String ROOT_PROJECT = "(root)";
+
+    // '/' ile normalize edilmiş ve '/' ile biten kök dizin; kök yoksa null
+    private final String basePrefix;
+    private final Map<String, Integer> projectIds = new HashMap<>();
+    private final List<String> projects = new ArrayList<>();
+    // Yeni kayıtlar dizi referansı yeniden yazılarak (volatile) okuyan thread'lere yayınlanır
+    private volatile Entry[] entries = new Entry[16];
+    private volatile int size;
+
+    /**
+     * @param basePath Aramanın kök dizini; null ise tüm dosyalar "(root)" projesine düşer
+     */
+    public PathTable(String basePath) {
+        if (basePath == null) {
+            this.basePrefix = null;
+        } else {
+            String normalized = basePath.replace("\\", "/");
+            this.basePrefix = normalized.endsWith("/") ? normalized : normalized + "/";
+        }
+    }
+
+    /**
+     * Dosyayı tabloya ekler ve id'sini döner. Aynı dosya için birden fazla çağrılırsa her
+     * seferinde yeni bir id verilir; çağıran her dosyayı bir kez kaydetmelidir.
+     */
+    public synchronized int register(String filePath) {
+        String normalized = filePath.replace("\\", "/");
+        String project = ROOT_PROJECT;
+        String relativePath = filePath;
+        if (basePrefix != null && normalized.startsWith(basePrefix)) {
+            String rest = normalized.substring(basePrefix.length());
+            int slash = rest.indexOf('/');
+            project = slash > 0 ? rest.substring(0, slash) : rest;
+            if (slash > 0) {
+                relativePath = rest.substring(slash + 1);
+            }
+        }
+
+        Integer projectId = projectIds.get(project);
+        if (projectId == null) {
+            projectId = projects.size();
+            projectIds.put(project, projectId);
+            projects.add(project);
+        }
+
+        int id = size;
+        Entry[] current = entries;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+        }
+        current[id] = new Entry(filePath, extractFileName(filePath), relativePath, projectId, project);
+        entries = current;
+        size = id + 1;
+        return id;
+    }
+
+    private static String extractFileName(String path) {
+        int lastSeparator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return lastSeparator >= 0 ? path.substring(lastSeparator + 1) : path;
+    }
+
+    /**
+     * Dosyanın tam yolu
+     */
+    public String path(int id) {
+        return entries[id].path;
+    }
+
+    public String fileName(int id) {
+        return entries[id].fileName;
+    }
+
+    /**
+     * Proje içindeki yol; dosya bir projenin altında değilse tam yol
+     */
+    public String relativePath(int id) {
+        return entries[id].relativePath;
+    }
+
+    /**
+     * Dosyanın projesi (kök dizinin altındaki ilk klasör), kök dizin dışındaysa "(root)"
+     */
+    public String project(int id) {
+        return entries[id].project;
+    }
+
+    public int projectId(int id) {
+        return entries[id].projectId;
+    }
+
+    /**
+     * Kayıtlı dosya sayısı
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kayıtlı proje sayısı; proje id'leri 0..projectCount()-1 aralığındadır
+     */
+    public synchronized int projectCount() {
+        return projects.size();
+    }
+
+    private static final class Entry {
+        final String path;
+        final String fileName;
+        final String relativePath;
+        final int projectId;
+        final String project;
+
+        Entry(String path, String fileName, String relativePath, int projectId, String project) {
+            this.path = path;
+            this.fileName = fileName;
+            this.relativePath = relativePath;
+            this.projectId = projectId;
+            this.project = project;
+        }
+    }
+}
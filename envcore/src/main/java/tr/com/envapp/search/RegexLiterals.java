@@ -0,0 +1,278 @@
+package tr.com.envapp.search;
+
+import java.util.regex.Pattern;
+
+/**
+ * Regex pattern'inin her eşleşmede mutlaka geçmesi gereken literal parçasını çıkarır.
+ *
+ * Çıkarım muhafazakârdır: grup, karakter sınıfı, escape sınıfı (\s, \d...) ve isteğe bağlı
+ * (?, *, {0,n}) karakterler literal dizisini böler; en üst seviyede alternation (|) varsa
+ * veya pattern yorum modundaysa (?x) hiç literal dönmez. Böylece literal'i içermeyen bir
+ * satırın regex ile eşleşemeyeceği garanti edilir.
+ */
+final class RegexLiterals {
+
+    // (?x) / (?ix) gibi yorum modu açan inline flag'ler
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z]*x");
+    // (?i) / (?iu) gibi büyük/küçük harf duyarsızlığı açan inline flag'ler
+    private static final Pattern CASE_INSENSITIVE_FLAG = Pattern.compile("\\(\\?[a-zA-Z]*i");
+
+    private RegexLiterals() {
+    }
+
+    /**
+     * Pattern'in her eşleşmesinde bulunan en uzun literal
+     * @return Literal; güvenli bir literal çıkarılamazsa boş string
+     */
+    static String requiredLiteral(String regex) {
+        if (COMMENTS_FLAG.matcher(regex).find() || hasTopLevelAlternation(regex)) {
+            return "";
+        }
+
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        boolean lastWasLiteral = false;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\': {
+                    if (i + 1 >= regex.length()) {
+                        i++;
+                        break;
+                    }
+                    char next = regex.charAt(i + 1);
+                    if (next == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        String quoted = end < 0 ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                        run.append(quoted);
+                        lastWasLiteral = !quoted.isEmpty();
+                        i = end < 0 ? regex.length() : end + 2;
+                    } else if (Character.isLetterOrDigit(next)) {
+                        // \s, \d, \b, \p{..}, \x41, A, geri referans... literal dizisini böler
+                        best = longer(best, run);
+                        run.setLength(0);
+                        lastWasLiteral = false;
+                        i = skipEscape(regex, i);
+                    } else {
+                        run.append(next);
+                        lastWasLiteral = true;
+                        i += 2;
+                    }
+                    break;
+                }
+                case '[':
+                case '(':
+                    best = longer(best, run);
+                    run.setLength(0);
+                    lastWasLiteral = false;
+                    i = c == '[' ? skipClass(regex, i) : skipGroup(regex, i);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    best = longer(best, run);
+                    run.setLength(0);
+                    lastWasLiteral = false;
+                    i++;
+                    break;
+                case '?':
+                case '*':
+                case '+':
+                case '{': {
+                    int end = c == '{' ? regex.indexOf('}', i) : i;
+                    if (end < 0) {
+                        // Kapanmayan { literal kabul edilir
+                        run.append(c);
+                        lastWasLiteral = true;
+                        i++;
+                        break;
+                    }
+                    boolean optional = c == '?' || c == '*' || (c == '{' && regex.startsWith("{0", i));
+                    if (lastWasLiteral && optional) {
+                        // Önceki karakter hiç geçmeyebilir
+                        removeLastCodePoint(run);
+                    }
+                    best = longer(best, run);
+                    run.setLength(0);
+                    lastWasLiteral = false;
+                    i = end + 1;
+                    // Lazy / possessive son eki
+                    if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+                        i++;
+                    }
+                    break;
+                }
+                default:
+                    run.append(c);
+                    lastWasLiteral = true;
+                    i++;
+            }
+        }
+        return longer(best, run);
+    }
+
+    /**
+     * Pattern inline flag ile büyük/küçük harf duyarsız hale getiriliyor mu
+     */
+    static boolean hasCaseInsensitiveFlag(String regex) {
+        return CASE_INSENSITIVE_FLAG.matcher(regex).find();
+    }
+
+    private static String longer(String best, StringBuilder run) {
+        return run.length() > best.length() ? run.toString() : best;
+    }
+
+    private static void removeLastCodePoint(StringBuilder run) {
+        if (run.length() == 0) {
+            return;
+        }
+        int length = run.length();
+        if (length >= 2 && Character.isSurrogatePair(run.charAt(length - 2), run.charAt(length - 1))) {
+            run.setLength(length - 2);
+        } else {
+            run.setLength(length - 1);
+        }
+    }
+
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    i = end < 0 ? regex.length() : end + 2;
+                } else {
+                    i += 2;
+                }
+                continue;
+            }
+            if (c == '[') {
+                i = skipClass(regex, i);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    /**
+     * Harf/rakam ile başlayan escape dizisini atlar, sonraki index'i döner
+     */
+    private static int skipEscape(String regex, int i) {
+        char kind = regex.charAt(i + 1);
+        int pos = i + 2;
+        switch (kind) {
+            case 'p':
+            case 'P':
+            case 'N':
+            case 'x':
+                if (pos < regex.length() && regex.charAt(pos) == '{') {
+                    int end = regex.indexOf('}', pos);
+                    return end < 0 ? regex.length() : end + 1;
+                }
+                return Math.min(regex.length(), pos + (kind == 'x' ? 2 : 1));
+            case 'u':
+                return Math.min(regex.length(), pos + 4);
+            case 'c':
+                return Math.min(regex.length(), pos + 1);
+            case 'k':
+                if (pos < regex.length() && regex.charAt(pos) == '<') {
+                    int end = regex.indexOf('>', pos);
+                    return end < 0 ? regex.length() : end + 1;
+                }
+                return pos;
+            case '0':
+                while (pos < regex.length() && pos < i + 5 && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '7') {
+                    pos++;
+                }
+                return pos;
+            default:
+                // Geri referanslar (\1, \12) ve tek harfli sınıflar
+                if (Character.isDigit(kind)) {
+                    while (pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+                        pos++;
+                    }
+                }
+                return pos;
+        }
+    }
+
+    /**
+     * [ ile başlayan (iç içe olabilen) karakter sınıfını atlar, sonraki index'i döner
+     */
+    private static int skipClass(String regex, int i) {
+        int depth = 0;
+        int pos = i;
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            if (c == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                pos++;
+                // Sınıfın başındaki ] (veya ^]) literal'dir
+                if (pos < regex.length() && regex.charAt(pos) == '^') {
+                    pos++;
+                }
+                if (pos < regex.length() && regex.charAt(pos) == ']') {
+                    pos++;
+                }
+                continue;
+            }
+            if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            }
+            pos++;
+        }
+        return regex.length();
+    }
+
+    /**
+     * ( ile başlayan grubu kapanışına kadar atlar, sonraki index'i döner
+     */
+    private static int skipGroup(String regex, int i) {
+        int depth = 0;
+        int pos = i;
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            if (c == '\\') {
+                if (pos + 1 < regex.length() && regex.charAt(pos + 1) == 'Q') {
+                    int end = regex.indexOf("\\E", pos + 2);
+                    pos = end < 0 ? regex.length() : end + 2;
+                } else {
+                    pos += 2;
+                }
+                continue;
+            }
+            if (c == '[') {
+                pos = skipClass(regex, pos);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            }
+            pos++;
+        }
+        return regex.length();
+    }
+}
@@ -0,0 +1,207 @@
+package tr.com.envapp.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tamamlanan aramaların sonuçlarını süreç genelinde tutan LRU önbellek.
+ *
+ * Anahtar, sonucu etkileyen tüm parametrelerdir: kök dizin, terimler, klasör pattern'i, üst klasör
+ * filtresi, eşleştirme seçenekleri ve dosya seçimi ayarları. Her kayıt, taranan dosyaların yol,
+ * boyut ve değişiklik zamanından hesaplanan bir parmak iziyle saklanır; kayıt kullanılmadan önce
+ * ağaç dosyalar okunmadan yeniden listelenir ve parmak izi tutmazsa kayıt atılır. Kayıtların
+ * tahmini toplam boyutu byte sınırını aşınca en uzun süredir kullanılmayanlar düşer.
+ */
+final class ResultCache {
+
+    static final long DEFAULT_LIMIT_BYTES = 64L * 1024 * 1024;
+
+    // Sonuç başına tahmini sabit boyut (nesne başlığı ve alanlar)
+    private static final int RESULT_BYTES = 56;
+
+    private static final Map<Key, Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedBytes;
+    private static long limitBytes = DEFAULT_LIMIT_BYTES;
+
+    private ResultCache() {
+    }
+
+    /**
+     * Aynı sorgunun kaydı; yoksa null
+     */
+    static Entry get(Key key) {
+        synchronized (CACHE) {
+            return CACHE.get(key);
+        }
+    }
+
+    /**
+     * Aynı kapsamda (kök dizin, klasörler, dosya seçimi) verilen sorgunun daralttığı bir sorgunun
+     * kaydı; birden fazla varsa en az dosyada sonuç vereni döner
+     */
+    static Entry findBroader(Key key, CompiledQuery query) {
+        Entry best = null;
+        synchronized (CACHE) {
+            for (Entry entry : CACHE.values()) {
+                if (entry.key.scope.equals(key.scope) && query.narrows(entry.query)
+                        && (best == null || entry.hitFiles().size() < best.hitFiles().size())) {
+                    best = entry;
+                }
+            }
+        }
+        return best;
+    }
+
+    static void put(Entry entry) {
+        synchronized (CACHE) {
+            if (entry.bytes > limitBytes) {
+                return;
+            }
+            Entry previous = CACHE.put(entry.key, entry);
+            cachedBytes += entry.bytes - (previous != null ? previous.bytes : 0);
+            evict();
+        }
+    }
+
+    /**
+     * Kaydı, hâlâ önbellekteyse çıkarır (parmak izi tutmadığında)
+     */
+    static void remove(Entry entry) {
+        synchronized (CACHE) {
+            if (CACHE.remove(entry.key, entry)) {
+                cachedBytes -= entry.bytes;
+            }
+        }
+    }
+
+    static void setLimit(long bytes) {
+        synchronized (CACHE) {
+            limitBytes = Math.max(0, bytes);
+            evict();
+        }
+    }
+
+    static long limit() {
+        synchronized (CACHE) {
+            return limitBytes;
+        }
+    }
+
+    static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private static void evict() {
+        Iterator<Entry> eldest = CACHE.values().iterator();
+        while (cachedBytes > limitBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Sonucun bellekteki tahmini boyutu; satır metni tutulan sonuçlarda metin de sayılır
+     */
+    static long estimate(SearchResult result) {
+        return result.getLineOffset() < 0 ? RESULT_BYTES + 40 + 2L * result.getLineContent().length() : RESULT_BYTES;
+    }
+
+    /**
+     * Bir kaydın anahtarı: terimler ve geri kalan parametreler (kapsam) ayrı tutulur; daraltılan
+     * sorgular aynı kapsamdaki kayıtlarda aranır
+     */
+    static final class Key {
+        final List<Object> scope;
+        final List<String> terms;
+
+        Key(List<Object> scope, List<String> terms) {
+            // Kapsamda null değerler (ör. filtre yok) olabilir
+            this.scope = Collections.unmodifiableList(new ArrayList<>(scope));
+            this.terms = List.copyOf(terms);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return scope.equals(other.scope) && terms.equals(other.terms);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, terms);
+        }
+    }
+
+    /**
+     * Tamamlanmış bir aramanın sonuçları ve dosya ağacının o anki parmak izi
+     */
+    static final class Entry {
+        final Key key;
+        final CompiledQuery query;
+        final List<SearchResult> results;
+        // StatusListener'a bildirilen proje klasörleri ve sonuç sayıları, bildirim sırasıyla
+        final List<Map.Entry<String, Integer>> completedDirectories;
+        final long fingerprint;
+        final int fileCount;
+        final long bytes;
+        private Set<String> hitFiles;
+
+        Entry(Key key, CompiledQuery query, List<SearchResult> results,
+              List<Map.Entry<String, Integer>> completedDirectories, long fingerprint, int fileCount) {
+            this.key = key;
+            this.query = query;
+            this.results = Collections.unmodifiableList(new ArrayList<>(results));
+            this.completedDirectories = List.copyOf(completedDirectories);
+            this.fingerprint = fingerprint;
+            this.fileCount = fileCount;
+
+            long size = 256;
+            Map<PathTable, Boolean> tables = new IdentityHashMap<>();
+            for (SearchResult result : results) {
+                size += estimate(result);
+                PathTable table = result.getPathTable();
+                if (tables.put(table, Boolean.TRUE) == null) {
+                    // Tam yol, dosya adı ve proje içi yol ayrı string'ler olarak tutulur
+                    for (int id = 0; id < table.size(); id++) {
+                        size += 120 + 4L * table.path(id).length();
+                    }
+                }
+            }
+            this.bytes = size;
+        }
+
+        /**
+         * Kayıt, ağacın verilen parmak izine ait mi
+         */
+        boolean matches(long fingerprint, int fileCount) {
+            return this.fingerprint == fingerprint && this.fileCount == fileCount;
+        }
+
+        /**
+         * Sonuç veren dosyaların yolları
+         */
+        synchronized Set<String> hitFiles() {
+            if (hitFiles == null) {
+                Set<String> files = new HashSet<>();
+                for (SearchResult result : results) {
+                    files.add(result.getFilePath());
+                }
+                hitFiles = files;
+            }
+            return hitFiles;
+        }
+    }
+}
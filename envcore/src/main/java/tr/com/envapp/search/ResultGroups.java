@@ -0,0 +1,111 @@
+package tr.com.envapp.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sonuçları proje ve dosyaya göre gruplar.
+ *
+ * Gruplama yol string'leri üzerinden hash'lenmeden, sonuçların PathTable'daki dosya ve proje
+ * id'leriyle dizi üzerinde yapılır (counting sort): sonuç listesi üzerinden iki geçiş ve dosya
+ * sayısı kadar ek iş. Projeler ve dosyalar yol tablosuna kayıt sırasıyla, bir dosyanın sonuçları
+ * listedeki sırasıyla döner.
+ */
+final class ResultGroups {
+
+    private ResultGroups() {
+    }
+
+    /**
+     * Sonuçları proje ve dosyaya göre gruplar; boş proje ve dosyalar atlanır
+     */
+    static List<ProjectGroup> group(List<SearchResult> results) {
+        // Sonuçlar normalde tek bir tabloyu paylaşır; farklı tablolar ardışık id aralıklarına yerleştirilir
+        Map<PathTable, int[]> offsets = new IdentityHashMap<>();
+        List<PathTable> tables = new ArrayList<>();
+        int fileCount = 0;
+        int projectCount = 0;
+        for (SearchResult result : results) {
+            PathTable table = result.getPathTable();
+            if (!offsets.containsKey(table)) {
+                // Boyut proje sayısından önce okunur; okunan dosyaların projeleri her zaman sayılmış olur
+                int size = table.size();
+                offsets.put(table, new int[] {fileCount, projectCount, size});
+                tables.add(table);
+                fileCount += size;
+                projectCount += table.projectCount();
+            }
+        }
+
+        // Dosya başına sonuç sayısı, ardından her dosyanın dizideki başlangıç konumu
+        int[] fileIds = new int[results.size()];
+        int[] starts = new int[fileCount + 1];
+        for (int i = 0; i < results.size(); i++) {
+            SearchResult result = results.get(i);
+            fileIds[i] = offsets.get(result.getPathTable())[0] + result.getFileId();
+            starts[fileIds[i] + 1]++;
+        }
+        for (int f = 0; f < fileCount; f++) {
+            starts[f + 1] += starts[f];
+        }
+        SearchResult[] sorted = new SearchResult[results.size()];
+        int[] next = Arrays.copyOf(starts, fileCount);
+        for (int i = 0; i < fileIds.length; i++) {
+            sorted[next[fileIds[i]]++] = results.get(i);
+        }
+
+        // Dosyalar projelerine kayıt sırasıyla dağıtılır
+        List<SearchResult> all = Arrays.asList(sorted);
+        ProjectGroup[] projects = new ProjectGroup[projectCount];
+        List<ProjectGroup> ordered = new ArrayList<>();
+        for (PathTable table : tables) {
+            int[] offset = offsets.get(table);
+            for (int id = 0; id < offset[2]; id++) {
+                int f = offset[0] + id;
+                if (starts[f] == starts[f + 1]) {
+                    continue;
+                }
+                int p = offset[1] + table.projectId(id);
+                if (projects[p] == null) {
+                    projects[p] = new ProjectGroup(table.project(id));
+                    ordered.add(projects[p]);
+                }
+                List<SearchResult> hits = all.subList(starts[f], starts[f + 1]);
+                projects[p].files.add(new FileGroup(table.path(id), table.relativePath(id), hits));
+                projects[p].hitCount += hits.size();
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Bir projenin sonuç veren dosyaları
+     */
+    static final class ProjectGroup {
+        final String name;
+        final List<FileGroup> files = new ArrayList<>();
+        int hitCount;
+
+        ProjectGroup(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Bir dosyanın sonuçları
+     */
+    static final class FileGroup {
+        final String path;
+        final String relativePath;
+        final List<SearchResult> hits;
+
+        FileGroup(String path, String relativePath, List<SearchResult> hits) {
+            this.path = path;
+            this.relativePath = relativePath;
+            this.hits = hits;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.*;
@@ -11,8 +12,19 @@ import javafx.stage.DirectoryChooser;
 import javafx.stage.Window;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 /**
@@ -20,25 +32,60 @@ import java.util.stream.Collectors;
  */
 public class SearchPane {
 
+    // Sonuç ağacında sabit satır yüksekliği; sanal akışın satırları ölçmeden yerleştirmesini sağlar
+    private static final double RESULT_CELL_HEIGHT = 20;
+    // Satır önizlemeleri dosyadan okunabilir; FX thread'ini bekletmemek için tek bir arka plan thread'inde yüklenir
+    private static final ExecutorService PREVIEW_LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-preview-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
     private TextField pathField;
     private TextField searchStringField;
     private TextField patternField;
     private TextField folderFilterField;
     private CheckBox caseSensitiveCheckBox;
     private CheckBox wholeWordCheckBox;
-    private TextFlow resultArea;
-    private ScrollPane resultScroll;
+    private CheckBox useIndexCheckBox;
+    private CheckBox multiTermCheckBox;
+    private CheckBox regexCheckBox;
+    // Sonuçlar proje → dosya → satır ağacında; yalnızca görünen satırlar için hücre oluşturulur
+    private TreeView<ResultNode> resultTree;
+    private TreeItem<ResultNode> resultRoot;
+    // Proje ve dosya düğümleri aramanın yol tablosundaki id'lerine göre tutulur
+    private final List<TreeItem<ResultNode>> projectItems = new ArrayList<>();
+    private final List<TreeItem<ResultNode>> fileItems = new ArrayList<>();
+    private int shownProjects;
+    private int shownFiles;
     private Button searchButton;
     private Button stopButton;
     private Button clearButton;
     private Label statusLabel;
     private ProgressBar progressBar;
     private Task<List<SearchResult>> currentTask;
+    // Çalışan aramanın servisi; durdurulduğunda taramayı hemen bırakması için
+    private volatile EntitySearchService currentService;
     private String currentSearchString;
+    private List<String> currentTerms;
     private boolean currentCaseSensitive;
     private boolean currentWholeWord;
+    private Pattern currentRegex;
     private Window ownerWindow;
 
+    // Tarama thread'inden FX thread'ine aktarılmayı bekleyen sonuçlar, geldikleri aramanın numarasıyla
+    private final ConcurrentLinkedQueue<LiveResult> pendingResults = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Servisten gelen son ilerleme; FX thread'ine en fazla bir aktarım bekler
+    private final AtomicReference<SearchProgress> latestProgress = new AtomicReference<>();
+    private final AtomicBoolean progressScheduled = new AtomicBoolean();
+    private volatile int searchGeneration;
+
+    // Sekme açıkken index'i güncel tutan watcher
+    private IndexWatcher indexWatcher;
+    private String indexedBasePath;
+    private boolean shown;
+
     public SearchPane(Window ownerWindow) {
         this.ownerWindow = ownerWindow;
     }
@@ -67,6 +114,13 @@ public class SearchPane {
 
         caseSensitiveCheckBox = new CheckBox("Case Sensitive");
         wholeWordCheckBox = new CheckBox("Whole Word");
+        useIndexCheckBox = new CheckBox("Hızlı (Index)");
+        useIndexCheckBox.setTooltip(new Tooltip("Kök dizin için trigram index'i kullanır; ilk aramada index oluşturulur"));
+        multiTermCheckBox = new CheckBox("Çoklu Terim");
+        multiTermCheckBox.setTooltip(new Tooltip("Virgülle ayrılmış terimlerin hepsini tek taramada arar"));
+        regexCheckBox = new CheckBox("Regex");
+        regexCheckBox.setTooltip(new Tooltip("Aranan metni regex olarak yorumlar (satır bazında)"));
+        multiTermCheckBox.disableProperty().bind(regexCheckBox.selectedProperty());
 
         searchButton = new Button("▶  Aramayı Başlat");
         searchButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 13px; -fx-font-weight: bold; -fx-padding: 6 16 6 16;");
@@ -86,14 +140,13 @@ public class SearchPane {
         statusLabel = new Label("Hazır");
         statusLabel.setStyle("-fx-text-fill: #aaaaaa; -fx-font-style: italic;");
 
-        resultArea = new TextFlow();
-        resultArea.setStyle("-fx-background-color: #2b2b2b;");
-        resultArea.setPadding(new Insets(10));
-
-        resultScroll = new ScrollPane(resultArea);
-        resultScroll.setFitToWidth(true);
-        resultScroll.setFitToHeight(true);
-        resultScroll.setStyle("-fx-background: #2b2b2b; -fx-background-color: #2b2b2b;");
+        resultRoot = new TreeItem<>();
+        resultRoot.setExpanded(true);
+        resultTree = new TreeView<>(resultRoot);
+        resultTree.setShowRoot(false);
+        resultTree.setFixedCellSize(RESULT_CELL_HEIGHT);
+        resultTree.setStyle("-fx-background-color: #2b2b2b;");
+        resultTree.setCellFactory(tree -> new ResultCell());
     }
 
     private Pane buildLayout() {
@@ -148,11 +201,11 @@ public class SearchPane {
 
         // Buttons row
         HBox buttonRow = new HBox(10,
-            caseSensitiveCheckBox, wholeWordCheckBox,
+            caseSensitiveCheckBox, wholeWordCheckBox, useIndexCheckBox, multiTermCheckBox, regexCheckBox,
             new Region(), progressBar,
             searchButton, stopButton, clearButton
         );
-        HBox.setHgrow(buttonRow.getChildren().get(2), Priority.ALWAYS);
+        HBox.setHgrow(buttonRow.getChildren().get(5), Priority.ALWAYS);
         HBox.setHgrow(progressBar, Priority.SOMETIMES);
         buttonRow.setAlignment(Pos.CENTER_RIGHT);
         inputGrid.add(buttonRow, 0, 5, 3, 1);
@@ -163,8 +216,8 @@ public class SearchPane {
         resultsLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 12px; -fx-text-fill: #bbbbbb;");
         resultsBox.setStyle("-fx-border-color: #555555; -fx-border-radius: 4; -fx-background-color: #3c3f41; -fx-background-radius: 4;");
         resultsBox.setPadding(new Insets(8));
-        VBox.setVgrow(resultScroll, Priority.ALWAYS);
-        resultsBox.getChildren().addAll(resultsLabel, resultScroll);
+        VBox.setVgrow(resultTree, Priority.ALWAYS);
+        resultsBox.getChildren().addAll(resultsLabel, resultTree);
         VBox.setVgrow(resultsBox, Priority.ALWAYS);
 
         // === Status Bar ===
@@ -210,44 +263,92 @@ public class SearchPane {
         if (!new File(path).exists()) { showError("Belirtilen klasör bulunamadı!"); return; }
         if (pattern.isEmpty()) pattern = "*";
 
+        boolean useRegex = regexCheckBox.isSelected();
+        List<String> terms = multiTermCheckBox.isSelected() && !useRegex ? parseTerms(searchString) : List.of(searchString);
+        if (terms.isEmpty()) { showError("Lütfen aranacak metni girin!"); return; }
+
+        Pattern highlightRegex = null;
+        if (useRegex) {
+            try {
+                highlightRegex = compileHighlightRegex(searchString, caseSensitiveCheckBox.isSelected(), wholeWordCheckBox.isSelected());
+            } catch (PatternSyntaxException e) {
+                showError("Geçersiz regex: " + e.getDescription());
+                return;
+            }
+        }
+
         searchButton.setDisable(true);
         stopButton.setDisable(false);
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
         progressBar.setVisible(true);
-        resultArea.getChildren().clear();
+        clearResults();
         statusLabel.setText("Arama yapılıyor...");
 
         currentSearchString = searchString;
+        currentTerms = terms;
         currentCaseSensitive = caseSensitiveCheckBox.isSelected();
         currentWholeWord = wholeWordCheckBox.isSelected();
+        currentRegex = highlightRegex;
 
         final String finalPattern = pattern;
         final String finalFolderFilter = folderFilter.isEmpty() ? null : folderFilter;
         final boolean finalCaseSensitive = currentCaseSensitive;
         final boolean finalWholeWord = currentWholeWord;
+        final boolean finalUseIndex = useIndexCheckBox.isSelected();
 
         long startTime = System.currentTimeMillis();
 
+        // Önceki arama hâlâ tarıyorsa yenisiyle yarışmasın
+        cancelCurrentService();
+
+        final int generation = ++searchGeneration;
+        pendingResults.clear();
+
         currentTask = new Task<>() {
             @Override
             protected List<SearchResult> call() {
                 EntitySearchService service = new EntitySearchService();
+                currentService = service;
                 service.setCaseSensitive(finalCaseSensitive);
                 service.setWholeWord(finalWholeWord);
-                return service.search(path, searchString, finalPattern, finalFolderFilter);
+                service.setUseIndex(finalUseIndex);
+                service.setRegex(useRegex);
+                service.setProgressListener(progress -> {
+                    if (generation == searchGeneration) {
+                        enqueueProgress(progress);
+                    }
+                });
+                List<SearchResult> collected = new ArrayList<>();
+                service.search(path, terms, finalPattern, finalFolderFilter, result -> {
+                    // Yeni bir arama başladıysa veya iptal edildiyse bu taramayı bırak
+                    if (isCancelled() || generation != searchGeneration) {
+                        return false;
+                    }
+                    collected.add(result);
+                    enqueueLiveResult(generation, result);
+                    return true;
+                });
+                return collected;
             }
         };
 
         currentTask.setOnSucceeded(ev -> {
             long duration = System.currentTimeMillis() - startTime;
             List<SearchResult> results = currentTask.getValue();
-            displayResults(results, duration, path);
+            flushLiveResults();
+            showSummary(results, duration);
             statusLabel.setText("Arama tamamlandı! " + results.size() + " sonuç bulundu. (" + duration + " ms)");
+            if (finalUseIndex) {
+                indexedBasePath = path;
+                ensureIndexWatcher();
+            }
             searchButton.setDisable(false);
             stopButton.setDisable(true);
             progressBar.setVisible(false);
         });
 
         currentTask.setOnFailed(ev -> {
+            flushLiveResults();
             statusLabel.setText("Hata oluştu: " + currentTask.getException().getMessage());
             searchButton.setDisable(false);
             stopButton.setDisable(true);
@@ -255,6 +356,7 @@ public class SearchPane {
         });
 
         currentTask.setOnCancelled(ev -> {
+            flushLiveResults();
             statusLabel.setText("Arama durduruldu.");
             searchButton.setDisable(false);
             stopButton.setDisable(true);
@@ -266,80 +368,262 @@ public class SearchPane {
         t.start();
     }
 
+    /**
+     * Search sekmesi görünür olduğunda çağrılır; index kullanılıyorsa izlemeyi başlatır
+     */
+    public void onShown() {
+        shown = true;
+        ensureIndexWatcher();
+    }
+
+    /**
+     * Search sekmesinden çıkıldığında çağrılır; index izlemesini durdurur
+     */
+    public void onHidden() {
+        shown = false;
+        stopIndexWatcher();
+    }
+
+    private void ensureIndexWatcher() {
+        if (!shown || indexedBasePath == null) {
+            return;
+        }
+        String basePath = new File(indexedBasePath).getAbsolutePath();
+        if (indexWatcher != null && indexWatcher.getBasePath().equals(basePath)) {
+            return;
+        }
+        stopIndexWatcher();
+
+        // Büyük ağaçlarda klasörlerin kaydı zaman alabilir, FX thread'ini bekletme
+        Thread starter = new Thread(() -> {
+            IndexWatcher watcher = IndexWatcher.start(basePath, new EntitySearchService());
+            if (watcher == null) return;
+            Platform.runLater(() -> {
+                if (shown && indexWatcher == null && indexedBasePath != null
+                        && basePath.equals(new File(indexedBasePath).getAbsolutePath())) {
+                    indexWatcher = watcher;
+                } else {
+                    closeInBackground(watcher);
+                }
+            });
+        }, "index-watcher-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    private void stopIndexWatcher() {
+        if (indexWatcher != null) {
+            closeInBackground(indexWatcher);
+            indexWatcher = null;
+        }
+    }
+
+    private void closeInBackground(IndexWatcher watcher) {
+        Thread closer = new Thread(watcher::close, "index-watcher-stop");
+        closer.setDaemon(true);
+        closer.start();
+    }
+
     private void stopSearch() {
         if (currentTask != null && currentTask.isRunning()) {
             currentTask.cancel();
         }
+        cancelCurrentService();
+    }
+
+    private void cancelCurrentService() {
+        EntitySearchService service = currentService;
+        if (service != null) {
+            service.cancel();
+            currentService = null;
+        }
+    }
+
+    /**
+     * Sonucu kuyruğa ekler; FX thread'ine bekleyen bir aktarım yoksa bir tane planlar
+     */
+    private void enqueueLiveResult(int generation, SearchResult result) {
+        pendingResults.add(new LiveResult(generation, result));
+        if (flushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flushLiveResults);
+        }
+    }
+
+    /**
+     * Son ilerleme bilgisini saklar; FX thread'ine bekleyen bir aktarım yoksa bir tane planlar
+     */
+    private void enqueueProgress(SearchProgress progress) {
+        latestProgress.set(progress);
+        if (progressScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyProgress);
+        }
+    }
+
+    private void applyProgress() {
+        progressScheduled.set(false);
+        SearchProgress progress = latestProgress.getAndSet(null);
+        if (progress == null || currentTask == null || !currentTask.isRunning()) {
+            return;
+        }
+        double fraction = progress.getFraction();
+        progressBar.setProgress(fraction < 0 ? ProgressBar.INDETERMINATE_PROGRESS : fraction);
+        statusLabel.setText("Arama yapılıyor... " + progress);
     }
 
-    private void displayResults(List<SearchResult> results, long duration, String basePath) {
-        resultArea.getChildren().clear();
+    /**
+     * Kuyruktaki sonuçları ağaca ekler (FX thread).
+     * Her ebeveynin yeni çocukları tek addAll ile eklenir; böylece bir aktarım, kaç sonuç
+     * gelmiş olursa olsun, ağaçta ebeveyn başına tek bir değişiklik olayı üretir.
+     */
+    private void flushLiveResults() {
+        flushScheduled.set(false);
+        if (pendingResults.isEmpty()) {
+            return;
+        }
+        Map<TreeItem<ResultNode>, List<TreeItem<ResultNode>>> additions = new LinkedHashMap<>();
+        LiveResult live;
+        while ((live = pendingResults.poll()) != null) {
+            // Kontrolü geçtikten sonra kuyruğa giren eski arama sonucu; id'leri bu aramanın
+            // yol tablosuna ait değildir, başka bir dosyanın altına eklenmemeli
+            if (live.generation != searchGeneration) {
+                continue;
+            }
+            SearchResult result = live.result;
+            PathTable paths = result.getPathTable();
+            int projectId = paths.projectId(result.getFileId());
+            TreeItem<ResultNode> projectItem = itemAt(projectItems, projectId);
+            if (projectItem == null) {
+                projectItem = new TreeItem<>(ResultNode.project(paths.project(result.getFileId())));
+                projectItem.setExpanded(true);
+                projectItems.set(projectId, projectItem);
+                shownProjects++;
+                additions.computeIfAbsent(resultRoot, k -> new ArrayList<>()).add(projectItem);
+            }
+            TreeItem<ResultNode> fileItem = itemAt(fileItems, result.getFileId());
+            if (fileItem == null) {
+                fileItem = new TreeItem<>(ResultNode.file(result.getRelativePath()));
+                fileItem.setExpanded(true);
+                fileItems.set(result.getFileId(), fileItem);
+                shownFiles++;
+                projectItem.getValue().fileCount++;
+                additions.computeIfAbsent(projectItem, k -> new ArrayList<>()).add(fileItem);
+            }
+            projectItem.getValue().hitCount++;
+            fileItem.getValue().hitCount++;
+            additions.computeIfAbsent(fileItem, k -> new ArrayList<>()).add(new TreeItem<>(ResultNode.hit(result)));
+        }
+        additions.forEach((parent, children) -> parent.getChildren().addAll(children));
+        // Görünen proje/dosya satırlarındaki sayılar güncellensin
+        resultTree.refresh();
+    }
+
+    /**
+     * Listede id'ye karşılık gelen düğüm; yoksa liste id'yi kapsayacak şekilde büyütülür ve null döner
+     */
+    private static TreeItem<ResultNode> itemAt(List<TreeItem<ResultNode>> items, int id) {
+        while (items.size() <= id) {
+            items.add(null);
+        }
+        return items.get(id);
+    }
 
+    /**
+     * Arama bittiğinde ağacın başına özet düğümünü ekler
+     */
+    private void showSummary(List<SearchResult> results, long duration) {
         if (results.isEmpty()) {
-            resultArea.getChildren().add(styledText("Sonuç bulunamadı!\n", "#ffffff", 12, false));
+            resultRoot.getChildren().add(new TreeItem<>(ResultNode.message("Sonuç bulunamadı!")));
             return;
         }
 
-        resultArea.getChildren().add(styledText("=".repeat(70) + "\n", "#64c8ff", 12, true));
-        resultArea.getChildren().add(styledText("BULUNAN SONUÇLAR\n", "#64c8ff", 12, true));
-        resultArea.getChildren().add(styledText("=".repeat(70) + "\n\n", "#64c8ff", 12, true));
-
-        Map<String, Map<String, List<SearchResult>>> grouped = results.stream()
-            .collect(Collectors.groupingBy(
-                r -> extractProjectName(r.getFilePath(), basePath),
-                Collectors.groupingBy(SearchResult::getFilePath)
-            ));
-
-        int totalFiles = 0;
-
-        for (Map.Entry<String, Map<String, List<SearchResult>>> projectEntry : grouped.entrySet()) {
-            String projectName = projectEntry.getKey();
-            Map<String, List<SearchResult>> filesInProject = projectEntry.getValue();
-            int projectResultCount = filesInProject.values().stream().mapToInt(List::size).sum();
-
-            resultArea.getChildren().add(styledText("\n📁 ", "#ffffff", 12, false));
-            resultArea.getChildren().add(styledText(projectName, "#ffc864", 14, true));
-            resultArea.getChildren().add(styledText(" (" + projectResultCount + " sonuç, " + filesInProject.size() + " dosya)\n", "#ffffff", 12, false));
-            resultArea.getChildren().add(styledText("│\n", "#ffffff", 12, false));
-
-            int fileIndex = 0;
-            for (Map.Entry<String, List<SearchResult>> fileEntry : filesInProject.entrySet()) {
-                fileIndex++;
-                totalFiles++;
-                String filePath = fileEntry.getKey();
-                List<SearchResult> fileResults = fileEntry.getValue();
-                String shortPath = getShortFilePath(filePath, basePath, projectName);
-                String filePrefix = (fileIndex == filesInProject.size()) ? "└── " : "├── ";
-                String linePrefix = (fileIndex == filesInProject.size()) ? "    " : "│   ";
-
-                resultArea.getChildren().add(styledText(filePrefix, "#ffffff", 12, false));
-                resultArea.getChildren().add(styledText(shortPath, "#90ee90", 12, false));
-                resultArea.getChildren().add(styledText(" (" + fileResults.size() + " eşleşme)\n", "#ffffff", 12, false));
-
-                for (int i = 0; i < fileResults.size(); i++) {
-                    SearchResult result = fileResults.get(i);
-                    String lineContent = result.getLineContent().trim();
-                    if (lineContent.length() > 100) lineContent = lineContent.substring(0, 97) + "...";
-                    String resultPrefix = (i == fileResults.size() - 1) ? "└─ " : "├─ ";
-                    resultArea.getChildren().add(styledText(linePrefix + resultPrefix + "Satır " + result.getLineNumber() + ": ", "#ffffff", 12, false));
-                    appendHighlighted(lineContent, currentSearchString, currentCaseSensitive, currentWholeWord);
-                    resultArea.getChildren().add(styledText("\n", "#ffffff", 12, false));
-                }
+        TreeItem<ResultNode> summary = new TreeItem<>(ResultNode.header("ÖZET"));
+        summary.setExpanded(true);
+        List<TreeItem<ResultNode>> lines = new ArrayList<>();
+        lines.add(new TreeItem<>(ResultNode.message("Toplam proje: " + shownProjects)));
+        lines.add(new TreeItem<>(ResultNode.message("Toplam dosya: " + shownFiles)));
+        lines.add(new TreeItem<>(ResultNode.message("Toplam eşleşme: " + results.size())));
+        if (currentTerms.size() > 1) {
+            Map<String, Long> countsByTerm = results.stream()
+                .collect(Collectors.groupingBy(SearchResult::getMatchedTerm, Collectors.counting()));
+            for (String term : currentTerms) {
+                lines.add(new TreeItem<>(ResultNode.message("• " + term + ": " + countsByTerm.getOrDefault(term, 0L) + " eşleşme")));
             }
         }
+        lines.add(new TreeItem<>(ResultNode.message("Süre: " + duration + " ms")));
+        summary.getChildren().addAll(lines);
+        resultRoot.getChildren().add(0, summary);
+        resultTree.scrollTo(0);
+    }
+
+    private void clearResults() {
+        resultRoot.getChildren().clear();
+        projectItems.clear();
+        fileItems.clear();
+        shownProjects = 0;
+        shownFiles = 0;
+    }
 
-        resultArea.getChildren().add(styledText("\n" + "=".repeat(70) + "\n", "#64c8ff", 12, true));
-        resultArea.getChildren().add(styledText("ÖZET\n", "#64c8ff", 12, true));
-        resultArea.getChildren().add(styledText("=".repeat(70) + "\n", "#64c8ff", 12, true));
-        resultArea.getChildren().add(styledText("   Toplam proje: " + grouped.size() + "\n", "#ffffff", 12, false));
-        resultArea.getChildren().add(styledText("   Toplam dosya: " + totalFiles + "\n", "#ffffff", 12, false));
-        resultArea.getChildren().add(styledText("   Toplam eşleşme: " + results.size() + "\n", "#ffffff", 12, false));
-        resultArea.getChildren().add(styledText("   Süre: " + duration + " ms\n", "#ffffff", 12, false));
+    /**
+     * Virgülle ayrılmış terimleri ayrıştırır (boş ve tekrar eden terimler atlanır)
+     */
+    private List<String> parseTerms(String searchString) {
+        return Arrays.stream(searchString.split(","))
+            .map(String::trim)
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Sonuç satırını, sonucu üreten terime (veya regex'e) göre vurgulayarak ekler
+     */
+    private void appendHighlighted(List<Node> out, String text, SearchResult result) {
+        if (currentRegex != null) {
+            appendRegexHighlighted(out, text, currentRegex);
+        } else {
+            String term = result.getMatchedTerm() != null ? result.getMatchedTerm() : currentSearchString;
+            appendHighlighted(out, text, term, currentCaseSensitive, currentWholeWord);
+        }
+    }
+
+    /**
+     * Vurgulama için regex'i servisle aynı kurallarla derler
+     */
+    private Pattern compileHighlightRegex(String regex, boolean caseSensitive, boolean wholeWord) {
+        int flags = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        Pattern pattern = Pattern.compile(regex, flags);
+        return wholeWord
+            ? Pattern.compile("(?<![\\p{L}\\p{Nd}])(?:" + regex + ")(?![\\p{L}\\p{Nd}])", flags)
+            : pattern;
+    }
+
+    private void appendRegexHighlighted(List<Node> out, String text, Pattern regex) {
+        Matcher matcher = regex.matcher(text);
+        int lastEnd = 0;
+        while (matcher.find()) {
+            if (matcher.end() == matcher.start()) {
+                // Boş eşleşmeler vurgulanmaz
+                continue;
+            }
+            if (matcher.start() > lastEnd) {
+                out.add(styledText(text.substring(lastEnd, matcher.start()), "#ffffff", 12, false));
+            }
+            out.add(highlightLabel(matcher.group()));
+            lastEnd = matcher.end();
+        }
+        if (lastEnd < text.length()) {
+            out.add(styledText(text.substring(lastEnd), "#ffffff", 12, false));
+        }
+    }
 
-        Platform.runLater(() -> resultScroll.setVvalue(0));
+    private Label highlightLabel(String content) {
+        // TextFlow'da background highlight için Label kullanıyoruz
+        Label hlLabel = new Label(content);
+        hlLabel.setStyle("-fx-background-color: #FFD700; -fx-text-fill: #000000; -fx-font-family: 'Consolas'; -fx-font-size: 12px; -fx-font-weight: bold;");
+        return hlLabel;
     }
 
-    private void appendHighlighted(String text, String search, boolean caseSensitive, boolean wholeWord) {
+    private void appendHighlighted(List<Node> out, String text, String search, boolean caseSensitive, boolean wholeWord) {
         String compareText = caseSensitive ? text : text.toLowerCase();
         String compareSearch = caseSensitive ? search : search.toLowerCase();
         int lastEnd = 0;
@@ -356,14 +640,9 @@ public class SearchPane {
 
             if (shouldHighlight) {
                 if (index > lastEnd) {
-                    resultArea.getChildren().add(styledText(text.substring(lastEnd, index), "#ffffff", 12, false));
+                    out.add(styledText(text.substring(lastEnd, index), "#ffffff", 12, false));
                 }
-                Text hl = styledText(text.substring(index, index + search.length()), "#000000", 12, true);
-                hl.setStyle("-fx-background-color: yellow;");
-                // TextFlow'da background highlight için Label kullanıyoruz
-                Label hlLabel = new Label(text.substring(index, index + search.length()));
-                hlLabel.setStyle("-fx-background-color: #FFD700; -fx-text-fill: #000000; -fx-font-family: 'Consolas'; -fx-font-size: 12px; -fx-font-weight: bold;");
-                resultArea.getChildren().add(hlLabel);
+                out.add(highlightLabel(text.substring(index, index + search.length())));
                 lastEnd = index + search.length();
             } else {
                 lastEnd = index + 1;
@@ -371,7 +650,7 @@ public class SearchPane {
         }
 
         if (lastEnd < text.length()) {
-            resultArea.getChildren().add(styledText(text.substring(lastEnd), "#ffffff", 12, false));
+            out.add(styledText(text.substring(lastEnd), "#ffffff", 12, false));
         }
     }
 
@@ -386,32 +665,13 @@ public class SearchPane {
         return t;
     }
 
-    private String extractProjectName(String filePath, String basePath) {
-        String nf = filePath.replace("\\", "/");
-        String nb = basePath.replace("\\", "/");
-        if (!nb.endsWith("/")) nb += "/";
-        if (nf.startsWith(nb)) {
-            String rel = nf.substring(nb.length());
-            int slash = rel.indexOf("/");
-            return slash > 0 ? rel.substring(0, slash) : rel;
-        }
-        return "(root)";
-    }
-
-    private String getShortFilePath(String filePath, String basePath, String projectName) {
-        String nf = filePath.replace("\\", "/");
-        String nb = basePath.replace("\\", "/");
-        if (!nb.endsWith("/")) nb += "/";
-        String prefix = nb + projectName + "/";
-        return nf.startsWith(prefix) ? nf.substring(prefix.length()) : filePath;
-    }
-
     private void clearAll() {
         pathField.clear();
         searchStringField.clear();
         patternField.setText("*");
         folderFilterField.clear();
-        resultArea.getChildren().clear();
+        regexCheckBox.setSelected(false);
+        clearResults();
         statusLabel.setText("Hazır");
     }
 
@@ -421,5 +681,131 @@ public class SearchPane {
         alert.setTitle("Hata");
         alert.showAndWait();
     }
-}
 
+    /**
+     * Kuyruktaki bir sonuç ve geldiği aramanın numarası
+     */
+    private static final class LiveResult {
+        final int generation;
+        final SearchResult result;
+
+        LiveResult(int generation, SearchResult result) {
+            this.generation = generation;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Sonuç ağacındaki bir satır: proje, dosya, eşleşen satır veya özet/mesaj
+     */
+    private static final class ResultNode {
+        enum Kind { HEADER, MESSAGE, PROJECT, FILE, HIT }
+
+        final Kind kind;
+        final String label;
+        final SearchResult result;
+        // Proje ve dosya düğümlerinde sonuçlar geldikçe artar (FX thread)
+        int hitCount;
+        int fileCount;
+        // Satır düğümünde arka planda yüklenen önizleme; yüklenene kadar null (FX thread)
+        String preview;
+
+        private ResultNode(Kind kind, String label, SearchResult result) {
+            this.kind = kind;
+            this.label = label;
+            this.result = result;
+        }
+
+        static ResultNode header(String text) {
+            return new ResultNode(Kind.HEADER, text, null);
+        }
+
+        static ResultNode message(String text) {
+            return new ResultNode(Kind.MESSAGE, text, null);
+        }
+
+        static ResultNode project(String name) {
+            return new ResultNode(Kind.PROJECT, name, null);
+        }
+
+        static ResultNode file(String shortPath) {
+            return new ResultNode(Kind.FILE, shortPath, null);
+        }
+
+        static ResultNode hit(SearchResult result) {
+            return new ResultNode(Kind.HIT, null, result);
+        }
+    }
+
+    /**
+     * Yeniden kullanılan ağaç hücresi; vurgulu metin yalnızca hücre görünür olduğunda oluşturulur
+     */
+    private final class ResultCell extends TreeCell<ResultNode> {
+        private final TextFlow flow = new TextFlow();
+        // Önizlemesi yüklenmeyi bekleyen düğüm; hücre başka düğüme geçtiyse kuyruktaki istek atlanır
+        private volatile ResultNode pendingPreview;
+
+        @Override
+        protected void updateItem(ResultNode node, boolean empty) {
+            super.updateItem(node, empty);
+            setText(null);
+            pendingPreview = null;
+            if (empty || node == null) {
+                setGraphic(null);
+                return;
+            }
+            render(node);
+        }
+
+        private void render(ResultNode node) {
+            List<Node> parts = new ArrayList<>();
+            switch (node.kind) {
+                case HEADER:
+                    parts.add(styledText(node.label, "#64c8ff", 12, true));
+                    break;
+                case MESSAGE:
+                    parts.add(styledText(node.label, "#ffffff", 12, false));
+                    break;
+                case PROJECT:
+                    parts.add(styledText("📁 ", "#ffffff", 12, false));
+                    parts.add(styledText(node.label, "#ffc864", 14, true));
+                    parts.add(styledText(" (" + node.hitCount + " sonuç, " + node.fileCount + " dosya)", "#ffffff", 12, false));
+                    break;
+                case FILE:
+                    parts.add(styledText(node.label, "#90ee90", 12, false));
+                    parts.add(styledText(" (" + node.hitCount + " eşleşme)", "#ffffff", 12, false));
+                    break;
+                case HIT:
+                    parts.add(styledText("Satır " + node.result.getLineNumber() + ": ", "#ffffff", 12, false));
+                    if (node.preview != null) {
+                        appendHighlighted(parts, node.preview, node.result);
+                    } else {
+                        loadPreview(node);
+                    }
+                    break;
+            }
+            flow.getChildren().setAll(parts);
+            setGraphic(flow);
+        }
+
+        /**
+         * Satır metnini arka planda yükler; hücre hâlâ aynı düğümü gösteriyorsa yeniden çizer
+         */
+        private void loadPreview(ResultNode node) {
+            pendingPreview = node;
+            PREVIEW_LOADER.execute(() -> {
+                // Hızlı kaydırmada ekrandan çıkan satırlar için dosya okunmaz
+                if (pendingPreview != node) {
+                    return;
+                }
+                String preview = node.result.getPreview(100);
+                Platform.runLater(() -> {
+                    node.preview = preview;
+                    if (getItem() == node && !isEmpty()) {
+                        render(node);
+                    }
+                });
+            });
+        }
+    }
+}
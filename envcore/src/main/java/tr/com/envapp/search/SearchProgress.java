@@ -0,0 +1,93 @@
+package tr.com.envapp.search;
+
+/**
+ * Süren bir aramanın ilerleme bilgisinin anlık görüntüsü
+ */
+public class SearchProgress {
+    private final int filesScanned;
+    private final long bytesRead;
+    private final int directoriesCompleted;
+    private final int hits;
+    private final int estimatedTotalFiles;
+    private final long elapsedMillis;
+    private final boolean finished;
+
+    public SearchProgress(int filesScanned, long bytesRead, int directoriesCompleted, int hits,
+                          int estimatedTotalFiles, long elapsedMillis, boolean finished) {
+        this.filesScanned = filesScanned;
+        this.bytesRead = bytesRead;
+        this.directoriesCompleted = directoriesCompleted;
+        this.hits = hits;
+        this.estimatedTotalFiles = estimatedTotalFiles;
+        this.elapsedMillis = elapsedMillis;
+        this.finished = finished;
+    }
+
+    /**
+     * Şimdiye kadar taranan (veya index ile elenen) dosya sayısı
+     */
+    public int getFilesScanned() {
+        return filesScanned;
+    }
+
+    /**
+     * Diskten okunan toplam byte
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getDirectoriesCompleted() {
+        return directoriesCompleted;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Ön sayımla bulunan taranacak dosya sayısı; sayım henüz bitmediyse -1
+     */
+    public int getEstimatedTotalFiles() {
+        return estimatedTotalFiles;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Tamamlanma oranı (0..1); tahmin yoksa -1
+     */
+    public double getFraction() {
+        if (finished) {
+            return 1.0;
+        }
+        if (estimatedTotalFiles <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) filesScanned / estimatedTotalFiles);
+    }
+
+    /**
+     * Ortalama okuma hızı (MB/s)
+     */
+    public double getMegabytesPerSecond() {
+        if (elapsedMillis <= 0) {
+            return 0;
+        }
+        return (bytesRead / (1024.0 * 1024.0)) / (elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        String total = estimatedTotalFiles >= 0 ? "/" + estimatedTotalFiles : "";
+        return String.format("%d%s dosya, %.1f MB (%.1f MB/s), %d klasör, %d sonuç",
+            filesScanned, total, bytesRead / (1024.0 * 1024.0), getMegabytesPerSecond(),
+            directoriesCompleted, hits);
+    }
+}
@@ -1,46 +1,301 @@
 package tr.com.envapp.search;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
- * Arama sonuçlarını tutan model sınıfı
+ * Arama sonuçlarını tutan model sınıfı.
+ *
+ * Taramadan gelen sonuçlar satır metnini taşımaz; yalnızca satırın dosyadaki byte offset'ini,
+ * uzunluğunu ve eşleşmenin satır içindeki byte aralığını tutar. Satır metni istendiğinde
+ * LineLoader üzerinden (önbellekten ya da dosyadan) yüklenir.
  */
 public class SearchResult {
-    private final String filePath;
+    // Dosya yolu sonuçta tutulmaz; aynı aramanın sonuçları tek bir yol tablosunu paylaşır
+    private final PathTable paths;
+    private final int fileId;
     private final int lineNumber;
+    // Yalnızca metni doğrudan verilen sonuçlarda dolu; taramadan gelenlerde null
     private final String lineContent;
-    private final String fileName;
+    private final String matchedTerm;
+    private final int lineOffset;
+    private final int lineLength;
+    private final int matchStart;
+    private final int matchEnd;
 
     public SearchResult(String filePath, int lineNumber, String lineContent) {
-        this.filePath = filePath;
+        this(filePath, lineNumber, lineContent, null);
+    }
+
+    public SearchResult(String filePath, int lineNumber, String lineContent, String matchedTerm) {
+        this(singleFile(filePath), 0, lineNumber, lineContent, matchedTerm);
+    }
+
+    /**
+     * Metni doğrudan verilen, yolu paylaşılan tablodan gelen sonuç
+     */
+    SearchResult(PathTable paths, int fileId, int lineNumber, String lineContent, String matchedTerm) {
+        this.paths = paths;
+        this.fileId = fileId;
         this.lineNumber = lineNumber;
         this.lineContent = lineContent;
-        this.fileName = extractFileName(filePath);
+        this.matchedTerm = matchedTerm;
+        this.lineOffset = -1;
+        this.lineLength = -1;
+        this.matchStart = -1;
+        this.matchEnd = -1;
     }
 
-    private String extractFileName(String path) {
-        int lastSeparator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
-        return lastSeparator >= 0 ? path.substring(lastSeparator + 1) : path;
+    /**
+     * Satır metni sonradan dosyadan yüklenecek sonuç
+     * @param lineOffset Satırın dosyadaki başlangıç byte offset'i
+     * @param lineLength Satırın byte uzunluğu (satır sonu hariç)
+     * @param matchStart Eşleşmenin satır içindeki başlangıç byte offset'i
+     * @param matchEnd Eşleşmenin satır içindeki bitiş byte offset'i
+     */
+    SearchResult(PathTable paths, int fileId, int lineNumber, int lineOffset, int lineLength,
+                 int matchStart, int matchEnd, String matchedTerm) {
+        this.paths = paths;
+        this.fileId = fileId;
+        this.lineNumber = lineNumber;
+        this.lineContent = null;
+        this.matchedTerm = matchedTerm;
+        this.lineOffset = lineOffset;
+        this.lineLength = lineLength;
+        this.matchStart = matchStart;
+        this.matchEnd = matchEnd;
+    }
+
+    private static PathTable singleFile(String filePath) {
+        PathTable table = new PathTable(null);
+        table.register(filePath);
+        return table;
     }
 
     public String getFilePath() {
-        return filePath;
+        return paths.path(fileId);
     }
 
     public int getLineNumber() {
         return lineNumber;
     }
 
+    /**
+     * Satırın tamamı; gerekirse dosyadan okunur. Okunamazsa boş string döner.
+     */
     public String getLineContent() {
-        return lineContent;
+        if (lineContent != null) {
+            return lineContent;
+        }
+        try {
+            return LineLoader.line(this);
+        } catch (IOException e) {
+            System.err.println("Satır okunamadı: " + getFilePath() + ":" + lineNumber + " - " + e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Gösterim için kısaltılmış satır: baş/son boşluklar atılır, maxLength'i aşan satırlarda
+     * eşleşmenin çevresi gösterilir. Çok uzun satırlarda satırın tamamı okunmaz.
+     */
+    public String getPreview(int maxLength) {
+        if (lineContent != null || lineLength <= LineLoader.CACHEABLE_LINE_LENGTH) {
+            String line = getLineContent();
+            return preview(line, charIndex(line, matchStart), false, false, maxLength);
+        }
+
+        // Eşleşmenin öncesinden ve sonrasından en fazla maxLength char'lık byte okunur (UTF-8'de char başına en fazla 3 byte)
+        int from = Math.max(0, matchStart - maxLength * 3);
+        int length = Math.min(lineLength - from, matchStart - from + maxLength * 3);
+        try {
+            byte[] bytes = LineLoader.readBytes(getFilePath(), (long) lineOffset + from, length);
+            // Pencere bir karakterin ortasında başlayıp bitebilir; yarım byte dizileri atlanır
+            int begin = 0;
+            while (begin < bytes.length && (bytes[begin] & 0xC0) == 0x80) {
+                begin++;
+            }
+            int end = bytes.length;
+            int lead = end - 1;
+            while (lead > begin && (bytes[lead] & 0xC0) == 0x80) {
+                lead--;
+            }
+            if (lead >= begin && lead + sequenceLength(bytes[lead]) > end) {
+                end = lead;
+            }
+            int match = Math.min(Math.max(matchStart - from, begin), end);
+            String before = new String(bytes, begin, match - begin, StandardCharsets.UTF_8);
+            String window = before + new String(bytes, match, end - match, StandardCharsets.UTF_8);
+            return preview(window, before.length(), from > 0, from + length < lineLength, maxLength);
+        } catch (IOException e) {
+            System.err.println("Satır okunamadı: " + getFilePath() + ":" + lineNumber + " - " + e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Satırı ve iki yanındaki en fazla radius satırı dosyadan okur
+     */
+    public LineContext getContext(int radius) {
+        if (lineOffset < 0) {
+            return new LineContext(lineNumber, List.of(getLineContent()));
+        }
+        try {
+            return LineLoader.context(this, radius);
+        } catch (IOException e) {
+            System.err.println("Satır okunamadı: " + getFilePath() + ":" + lineNumber + " - " + e.getMessage());
+            return new LineContext(lineNumber, List.of());
+        }
     }
 
     public String getFileName() {
-        return fileName;
+        return paths.fileName(fileId);
+    }
+
+    /**
+     * Dosyanın projesi (arama kök dizininin altındaki ilk klasör)
+     */
+    public String getProjectName() {
+        return paths.project(fileId);
+    }
+
+    /**
+     * Dosyanın proje içindeki yolu; dosya bir projenin altında değilse tam yol
+     */
+    public String getRelativePath() {
+        return paths.relativePath(fileId);
+    }
+
+    /**
+     * Dosyanın yol tablosundaki id'si
+     */
+    public int getFileId() {
+        return fileId;
+    }
+
+    public PathTable getPathTable() {
+        return paths;
+    }
+
+    /**
+     * Satırda eşleşen arama terimi (çoklu terim aramasında sonucu hangi terimin ürettiği)
+     */
+    public String getMatchedTerm() {
+        return matchedTerm;
+    }
+
+    /**
+     * Satırın dosyadaki başlangıç byte offset'i; metni doğrudan verilen sonuçlarda -1
+     */
+    public int getLineOffset() {
+        return lineOffset;
+    }
+
+    /**
+     * Satırın byte uzunluğu (satır sonu hariç); metni doğrudan verilen sonuçlarda -1
+     */
+    public int getLineLength() {
+        return lineLength;
+    }
+
+    /**
+     * Eşleşmenin satır içindeki başlangıç byte offset'i; bilinmiyorsa -1
+     */
+    public int getMatchStart() {
+        return matchStart;
+    }
+
+    /**
+     * Eşleşmenin satır içindeki bitiş byte offset'i; bilinmiyorsa -1
+     */
+    public int getMatchEnd() {
+        return matchEnd;
     }
 
     @Override
     public String toString() {
         return String.format("Dosya: %s | Satır: %d | İçerik: %s",
-            filePath, lineNumber, lineContent.trim());
+            getFilePath(), lineNumber, getLineContent().trim());
     }
-}
 
+    /**
+     * Satırın başından byteOffset byte'a karşılık gelen char index'i
+     */
+    private static int charIndex(String text, int byteOffset) {
+        if (byteOffset < 0) {
+            return -1;
+        }
+        int bytes = 0;
+        int i = 0;
+        while (i < text.length() && bytes < byteOffset) {
+            bytes += FileScanner.utf8Length(text, i, i + 1);
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * UTF-8 baş byte'ının başlattığı dizinin uzunluğu
+     */
+    private static int sequenceLength(byte lead) {
+        if ((lead & 0x80) == 0) {
+            return 1;
+        }
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        }
+        return (lead & 0xF0) == 0xE0 ? 3 : 4;
+    }
+
+    /**
+     * @param match Eşleşmenin metindeki char index'i, bilinmiyorsa -1
+     * @param cutBefore Metin satırın ortasından başlıyorsa true
+     * @param cutAfter Metin satırın sonuna kadar gitmiyorsa true
+     */
+    private static String preview(String text, int match, boolean cutBefore, boolean cutAfter, int maxLength) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (!cutBefore && !cutAfter && end - start <= maxLength) {
+            return text.substring(start, end);
+        }
+        if (!cutBefore && (match < 0 || match + 1 <= start + maxLength - 3)) {
+            // Eşleşme satırın başında, satır eskisi gibi sondan kısaltılır
+            return text.substring(start, Math.min(end, start + maxLength - 3)) + "...";
+        }
+        // Eşleşme uzakta: eşleşmeden biraz önce başlayan bir pencere gösterilir
+        int from = Math.max(start, match - maxLength / 3);
+        int to = Math.min(end, from + maxLength - 6);
+        return "..." + text.substring(from, to) + (to < end || cutAfter ? "..." : "");
+    }
+
+    /**
+     * Bir sonucun çevresindeki satırlar
+     */
+    public static class LineContext {
+        private final int firstLineNumber;
+        private final List<String> lines;
+
+        public LineContext(int firstLineNumber, List<String> lines) {
+            this.firstLineNumber = firstLineNumber;
+            this.lines = lines;
+        }
+
+        /**
+         * lines listesindeki ilk satırın numarası
+         */
+        public int getFirstLineNumber() {
+            return firstLineNumber;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+    }
+}
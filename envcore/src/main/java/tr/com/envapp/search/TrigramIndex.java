@@ -0,0 +1,610 @@
+package tr.com.envapp.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Bir kök dizin altındaki dosyalar için disk üzerinde tutulan trigram index'i.
+ *
+ * Her trigram için o trigram'ı içeren dosyaların id listesi (posting list) tutulur.
+ * Sorgu sırasında aranan metnin trigram'larının posting list'leri kesiştirilerek aday
+ * dosyalar bulunur; satır taraması sadece bu dosyalarda yapılır. Index'te olmayan veya
+ * index'lendikten sonra boyutu/tarihi değişmiş dosyalar her zaman taranır, böylece
+ * sonuç kümesi tam taramayla aynı kalır.
+ *
+ * Trigram'lar satır bazında ve karakterler CompiledQuery.fold ile katlanarak çıkarılır;
+ * bu yüzden index hem case sensitive hem de whole word aramalar için kullanılabilir.
+ *
+ * Index artımlı güncellenir: değişen dosya eski id'si silinmiş işaretlenip yeni id ile
+ * tekrar eklenir, silinen dosyalar sadece işaretlenir. Silinmiş id'ler kaydetme sırasında
+ * (veya oranları büyüdüğünde) posting list'lerden temizlenir; bu id'leri yeniden
+ * numaralandırdığı için nesil (generation) sayacını artırır. Arama sürerken index
+ * güncellenebildiğinden aday kümesi, hesaplandığı andaki nesil ve id sınırıyla birlikte
+ * (Candidates) tutulur ve mayContain bu bilgiyle karar verir.
+ */
+public class TrigramIndex {
+
+    // Index dosyalarının tutulduğu klasör (uygulamanın data klasörü altında)
+    private static final Path INDEX_DIR = Path.of("data", "search-index");
+
+    private static final int MAGIC = 0x54524947; // "TRIG"
+    private static final int FORMAT_VERSION = 1;
+
+    // Açılmış index'ler kök dizine göre paylaşılır
+    private static final Map<String, TrigramIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+
+    private final String basePath;
+    private final Path indexFile;
+    private final List<FileEntry> files = new ArrayList<>();
+    private final Map<String, Integer> fileIds = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private boolean dirty;
+    private boolean refreshed;
+    // Id'ler her yeniden numaralandırıldığında (compact, clear) artar
+    private int generation;
+
+    /**
+     * Bir sorgunun aday dosyaları ve hesaplandığı andaki index durumu. Sonradan eklenen
+     * (değişip yeniden index'lenen) dosyalar idLimit ve üzerindeki id'leri alır; nesil
+     * değiştiyse id'ler artık aynı dosyaları göstermez.
+     */
+    public static final class Candidates {
+        final BitSet ids;
+        final int generation;
+        final int idLimit;
+
+        private Candidates(BitSet ids, int generation, int idLimit) {
+            this.ids = ids;
+            this.generation = generation;
+            this.idLimit = idLimit;
+        }
+    }
+
+    /**
+     * Index'lenmiş bir dosyanın index'lendiği andaki boyutu ve değişiklik zamanı
+     */
+    private static final class FileEntry {
+        final String path;
+        final long size;
+        final long lastModified;
+
+        FileEntry(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private TrigramIndex(String basePath) {
+        this.basePath = basePath;
+        this.indexFile = INDEX_DIR.resolve(indexFileName(basePath));
+    }
+
+    /**
+     * Kök dizin için index'i döndürür; diskte varsa yüklenir, yoksa boş bir index oluşturulur
+     * @param basePath Arama yapılacak kök dizin
+     * @return Paylaşılan index nesnesi
+     */
+    public static TrigramIndex forBasePath(String basePath) {
+        String normalized = new File(basePath).getAbsolutePath();
+        return OPEN_INDEXES.computeIfAbsent(normalized, path -> {
+            TrigramIndex index = new TrigramIndex(path);
+            index.load();
+            return index;
+        });
+    }
+
+    private static String indexFileName(String basePath) {
+        String name = new File(basePath).getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return name + "-" + Integer.toHexString(basePath.hashCode()) + ".idx";
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    public synchronized boolean isEmpty() {
+        return fileIds.isEmpty();
+    }
+
+    public synchronized int getFileCount() {
+        return fileIds.size();
+    }
+
+    /**
+     * Index bu çalışma içinde diskteki dosyalarla karşılaştırıldı mı
+     */
+    public synchronized boolean isRefreshed() {
+        return refreshed;
+    }
+
+    public synchronized void setRefreshed(boolean refreshed) {
+        this.refreshed = refreshed;
+    }
+
+    /**
+     * Index'i temizler; ardından updateFile ile yeniden doldurulabilir
+     */
+    public synchronized void clear() {
+        files.clear();
+        fileIds.clear();
+        postings.clear();
+        deleted.clear();
+        deletedCount = 0;
+        dirty = true;
+        generation++;
+    }
+
+    /**
+     * Dosyanın index'teki hali diskteki boyut ve değişiklik zamanıyla aynı mı
+     */
+    public boolean isUpToDate(File file) {
+        return isUpToDate(file.getAbsolutePath(), file.length(), file.lastModified());
+    }
+
+    /**
+     * Dosyanın index'teki hali verilen boyut ve değişiklik zamanıyla aynı mı (öznitelikler
+     * dizin listelemesinden geldiğinde dosya için ayrıca stat yapılmaz)
+     */
+    public boolean isUpToDate(String absolutePath, long size, long lastModified) {
+        FileEntry entry;
+        synchronized (this) {
+            Integer id = fileIds.get(absolutePath);
+            if (id == null) {
+                return false;
+            }
+            entry = files.get(id);
+        }
+        return entry.size == size && entry.lastModified == lastModified;
+    }
+
+    /**
+     * Index'teki tüm dosya yollarının kopyası
+     */
+    public synchronized List<String> getIndexedPaths() {
+        return new ArrayList<>(fileIds.keySet());
+    }
+
+    /**
+     * Dosyayı okuyup trigram'larını index'e ekler; dosya zaten index'teyse eski kaydın yerini alır
+     */
+    public void updateFile(File file) {
+        updateFile(file, FileScanner.DEFAULT_FALLBACK_CHARSET);
+    }
+
+    /**
+     * Dosyayı aramanın okuduğu charset ile okuyup index'e ekler
+     * @param fallbackCharset BOM'suz ve geçerli UTF-8 olmayan dosyaların charset'i
+     */
+    public void updateFile(File file, Charset fallbackCharset) {
+        long size = file.length();
+        long lastModified = file.lastModified();
+        long[] trigrams;
+        try {
+            trigrams = tokenize(file, fallbackCharset);
+        } catch (IOException e) {
+            System.err.println("Index'lenemedi: " + file.getAbsolutePath() + " - " + e.getMessage());
+            removeFile(file.getAbsolutePath());
+            return;
+        }
+        add(new FileEntry(file.getAbsolutePath(), size, lastModified), trigrams);
+    }
+
+    private synchronized void add(FileEntry entry, long[] trigrams) {
+        markDeleted(entry.path);
+        int id = files.size();
+        files.add(entry);
+        fileIds.put(entry.path, id);
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(id);
+        }
+        dirty = true;
+        compactIfNeeded();
+    }
+
+    /**
+     * Dosyayı index'ten çıkarır
+     * @param path Dosyanın mutlak yolu
+     */
+    public synchronized void removeFile(String path) {
+        if (markDeleted(path)) {
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Verilen klasörün altındaki (veya yolun kendisine ait) tüm kayıtları index'ten çıkarır
+     * @param path Silinen dosya veya klasörün mutlak yolu
+     */
+    public synchronized void removeTree(String path) {
+        String prefix = path.endsWith(File.separator) ? path : path + File.separator;
+        boolean removed = markDeleted(path);
+        for (String indexed : new ArrayList<>(fileIds.keySet())) {
+            if (indexed.startsWith(prefix)) {
+                removed |= markDeleted(indexed);
+            }
+        }
+        if (removed) {
+            compactIfNeeded();
+        }
+    }
+
+    private boolean markDeleted(String path) {
+        Integer id = fileIds.remove(path);
+        if (id == null) {
+            return false;
+        }
+        deleted.set(id);
+        deletedCount++;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Silinmiş kayıtlar index'in üçte birini geçtiyse posting list'leri temizler
+     */
+    private void compactIfNeeded() {
+        if (deletedCount > 1024 && deletedCount * 3 > files.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Silinmiş id'leri atıp kalan dosyaları sırası bozulmadan yeniden numaralandırır
+     */
+    private void compact() {
+        if (deletedCount == 0) {
+            return;
+        }
+        int[] newIds = new int[files.size()];
+        List<FileEntry> liveFiles = new ArrayList<>(fileIds.size());
+        for (int i = 0; i < files.size(); i++) {
+            if (deleted.get(i)) {
+                newIds[i] = -1;
+            } else {
+                newIds[i] = liveFiles.size();
+                liveFiles.add(files.get(i));
+            }
+        }
+
+        Map<Long, PostingList> compacted = new HashMap<>();
+        for (Map.Entry<Long, PostingList> posting : postings.entrySet()) {
+            PostingList list = new PostingList();
+            posting.getValue().forEach(id -> {
+                if (newIds[id] >= 0) {
+                    list.add(newIds[id]);
+                }
+            });
+            if (list.count > 0) {
+                compacted.put(posting.getKey(), list);
+            }
+        }
+
+        files.clear();
+        files.addAll(liveFiles);
+        fileIds.clear();
+        for (int i = 0; i < files.size(); i++) {
+            fileIds.put(files.get(i).path, i);
+        }
+        postings.clear();
+        postings.putAll(compacted);
+        deleted.clear();
+        deletedCount = 0;
+        generation++;
+    }
+
+    /**
+     * Aranan metnin geçebileceği dosyaları hesaplar
+     * @param searchString Aranan metin
+     * @return Aday dosyalar; metin index'ten yararlanmak için çok kısaysa null
+     */
+    public Candidates candidates(String searchString) {
+        return candidates(List.of(searchString));
+    }
+
+    private BitSet termCandidates(String searchString) {
+        long[] queryTrigrams = queryTrigrams(searchString);
+        if (queryTrigrams.length == 0) {
+            return null;
+        }
+
+        // En kısa posting list'ten başlayarak kesiştir
+        PostingList[] lists = new PostingList[queryTrigrams.length];
+        for (int i = 0; i < queryTrigrams.length; i++) {
+            lists[i] = postings.get(queryTrigrams[i]);
+            if (lists[i] == null) {
+                return new BitSet();
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.count, b.count));
+
+        BitSet result = lists[0].toBitSet();
+        for (int i = 1; i < lists.length && !result.isEmpty(); i++) {
+            result.and(lists[i].toBitSet());
+        }
+        result.andNot(deleted);
+        return result;
+    }
+
+    /**
+     * Terimlerden en az birinin geçebileceği dosyaları hesaplar
+     * @param terms Aranan terimler
+     * @return Aday dosyalar; terim yoksa (literal içermeyen regex) veya terimlerden biri
+     *         index'ten yararlanmak için çok kısaysa null (filtre yok)
+     */
+    public synchronized Candidates candidates(List<String> terms) {
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (String term : terms) {
+            BitSet termCandidates = termCandidates(term);
+            if (termCandidates == null) {
+                return null;
+            }
+            result.or(termCandidates);
+        }
+        return new Candidates(result, generation, files.size());
+    }
+
+    /**
+     * Dosyanın taranması gerekip gerekmediğini söyler
+     * @param file Dosya
+     * @param candidates candidates() sonucu (null = filtre yok)
+     * @return Dosya index'te yoksa, değişmişse veya aday ise true
+     */
+    public boolean mayContain(File file, Candidates candidates) {
+        if (candidates == null) {
+            return true;
+        }
+        return mayContain(file.getAbsolutePath(), file.length(), file.lastModified(), candidates);
+    }
+
+    /**
+     * mayContain(File, Candidates) ile aynı; boyut ve değişiklik zamanı dizin listelemesinden gelir
+     * @param absolutePath Dosyanın tam yolu
+     * @param size Dosyanın diskteki boyutu
+     * @param lastModified Dosyanın diskteki değişiklik zamanı
+     * @param candidates candidates() sonucu (null = filtre yok)
+     */
+    public boolean mayContain(String absolutePath, long size, long lastModified, Candidates candidates) {
+        if (candidates == null) {
+            return true;
+        }
+        FileEntry entry;
+        int id;
+        synchronized (this) {
+            // Arama sırasında id'ler yeniden numaralandırıldıysa aday kümesi kullanılamaz
+            if (generation != candidates.generation) {
+                return true;
+            }
+            Integer boxed = fileIds.get(absolutePath);
+            // Aday kümesinden sonra index'lenen dosyalar kümede yer almaz
+            if (boxed == null || boxed >= candidates.idLimit) {
+                return true;
+            }
+            id = boxed;
+            entry = files.get(id);
+        }
+        if (entry.size != size || entry.lastModified != lastModified) {
+            return true;
+        }
+        return candidates.ids.get(id);
+    }
+
+    /**
+     * Index'i diske yazar (önce geçici dosyaya yazılıp yerine taşınır)
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        compact();
+        try {
+            Files.createDirectories(INDEX_DIR);
+            Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(basePath);
+                out.writeInt(files.size());
+                for (FileEntry entry : files) {
+                    out.writeUTF(entry.path);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.lastModified);
+                }
+                out.writeInt(postings.size());
+                for (Map.Entry<Long, PostingList> posting : postings.entrySet()) {
+                    out.writeLong(posting.getKey());
+                    posting.getValue().write(out);
+                }
+            }
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Index kaydedilemedi: " + indexFile + " - " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !basePath.equals(in.readUTF())) {
+                return;
+            }
+            int fileCount = in.readInt();
+            for (int i = 0; i < fileCount; i++) {
+                FileEntry entry = new FileEntry(in.readUTF(), in.readLong(), in.readLong());
+                files.add(entry);
+                fileIds.put(entry.path, i);
+            }
+            int postingCount = in.readInt();
+            for (int i = 0; i < postingCount; i++) {
+                long trigram = in.readLong();
+                postings.put(trigram, PostingList.read(in));
+            }
+        } catch (IOException e) {
+            System.err.println("Index okunamadı, yeniden oluşturulacak: " + indexFile + " - " + e.getMessage());
+            clear();
+        }
+    }
+
+    /**
+     * Dosyadaki tüm satırların tekil trigram'larını sıralı olarak döndürür. Dosya, aramadaki gibi
+     * içeriğine göre okunur: binary dosyalar için boş döner, BOM varsa BOM'un charset'i, yoksa
+     * UTF-8, geçerli UTF-8 değilse yedek charset kullanılır.
+     */
+    static long[] tokenize(File file, Charset fallbackCharset) throws IOException {
+        FileScanner.Encoding encoding = FileScanner.sniff(file);
+        if (encoding == FileScanner.Encoding.BINARY) {
+            // Arama da binary dosyaları atlar; boş kayıt dosyayı adaylardan eler
+            return new long[0];
+        }
+        if (encoding.charset != null && encoding.charset != StandardCharsets.UTF_8) {
+            return tokenize(file, FileScanner.lenientDecoder(encoding.charset), encoding.bomLength);
+        }
+        try {
+            CharsetDecoder strict = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+            return tokenize(file, strict, encoding.bomLength);
+        } catch (CharacterCodingException e) {
+            return tokenize(file, FileScanner.lenientDecoder(fallbackCharset), encoding.bomLength);
+        }
+    }
+
+    private static long[] tokenize(File file, CharsetDecoder decoder, int bomLength) throws IOException {
+        long[] buffer = new long[1024];
+        int count = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            in.skipNBytes(bomLength);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, decoder));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                for (int i = 0; i + 2 < line.length(); i++) {
+                    if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    buffer[count++] = pack(line.charAt(i), line.charAt(i + 1), line.charAt(i + 2));
+                }
+            }
+        }
+        Arrays.sort(buffer, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        return Arrays.copyOf(buffer, unique);
+    }
+
+    /**
+     * Sorgunun tekil trigram'ları
+     */
+    static long[] queryTrigrams(String searchString) {
+        long[] result = new long[Math.max(0, searchString.length() - 2)];
+        for (int i = 0; i + 2 < searchString.length(); i++) {
+            result[i] = pack(searchString.charAt(i), searchString.charAt(i + 1), searchString.charAt(i + 2));
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) CompiledQuery.fold(a) << 32) | ((long) CompiledQuery.fold(b) << 16) | CompiledQuery.fold(c);
+    }
+
+    /**
+     * Artan dosya id'lerini fark (delta) + varint olarak sıkıştırılmış tutan liste
+     */
+    private static final class PostingList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int count;
+        private int lastId = -1;
+
+        void add(int id) {
+            int delta = id - lastId;
+            lastId = id;
+            count++;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+        }
+
+        BitSet toBitSet() {
+            BitSet bits = new BitSet();
+            forEach(bits::set);
+            return bits;
+        }
+
+        void forEach(IntConsumer action) {
+            int id = -1;
+            int pos = 0;
+            while (pos < length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                id += delta;
+                action.accept(id);
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(count);
+            out.writeInt(lastId);
+            out.writeInt(length);
+            out.write(data, 0, length);
+        }
+
+        static PostingList read(DataInputStream in) throws IOException {
+            PostingList list = new PostingList();
+            list.count = in.readInt();
+            list.lastId = in.readInt();
+            list.length = in.readInt();
+            list.data = new byte[list.length];
+            in.readFully(list.data);
+            return list;
+        }
+    }
+}
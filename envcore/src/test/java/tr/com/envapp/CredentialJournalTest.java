@@ -0,0 +1,196 @@
+package tr.com.envapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tr.com.envapp.EnvCredentialApp.Credential;
+
+/**
+ * Günlüğün açılışta snapshot üzerine uygulanması, birleştirme ve yazma hatası sonrası tekrar deneme
+ */
+class CredentialJournalTest {
+
+  private static final String ENV = "test";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<IOException> errors = new ArrayList<>();
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void journalIsReplayedOverSnapshot() throws Exception {
+    Credential a = credential("a", "api-a");
+    Credential b = credential("b", "api-b");
+    writeSnapshot(a, b);
+    Credential a2 = credential("a", "api-a2");
+    Credential c = credential("c", "api-c");
+    writeJournal(put(a2), delete("b"), put(c));
+
+    assertEquals(Map.of("a", "api-a2", "c", "api-c"), keys(loadAndClose()));
+    // Uygulanan günlük snapshot'a birleştirilip boşaltılır
+    assertEquals(0, Files.size(journal()));
+    assertEquals(Map.of("a", "api-a2", "c", "api-c"), keys(readSnapshot()));
+  }
+
+  @Test
+  void tornLastLineIsSkipped() throws Exception {
+    writeSnapshot(credential("a", "api-a"));
+    String torn = objectMapper.writeValueAsString(put(credential("c", "api-c")));
+    Files.writeString(journal(), objectMapper.writeValueAsString(put(credential("b", "api-b"))) + "\n"
+        + torn.substring(0, torn.length() / 2), StandardCharsets.UTF_8);
+
+    assertEquals(Map.of("a", "api-a", "b", "api-b"), keys(loadAndClose()));
+    assertEquals(Map.of("a", "api-a", "b", "api-b"), keys(loadAndClose()));
+  }
+
+  @Test
+  void legacyRowsGetIdsAndSnapshotIsRewritten() throws Exception {
+    Files.writeString(snapshot(), "[{\"env\":\"test\",\"key\":\"legacy-1\"},{\"env\":\"test\",\"key\":\"legacy-2\"}]",
+        StandardCharsets.UTF_8);
+
+    List<Credential> loaded = loadAndClose();
+    assertEquals(2, loaded.size());
+    loaded.forEach(credential -> assertNotNull(credential.getId()));
+    // Verilen id'ler snapshot'a yazılır; sonraki açılışta aynı kalır
+    assertEquals(keys(loaded), keys(readSnapshot()));
+    assertEquals(keys(loaded), keys(loadAndClose()));
+  }
+
+  @Test
+  void replayIsIdempotentAfterCrashBeforeTruncate() throws Exception {
+    // Birleştirme yeni snapshot'ı taşıdıktan sonra, günlük boşaltılmadan kesildi
+    Credential a2 = credential("a", "api-a2");
+    Credential c = credential("c", "api-c");
+    writeSnapshot(a2, c);
+    writeJournal(put(a2), delete("b"), put(c));
+
+    assertEquals(Map.of("a", "api-a2", "c", "api-c"), keys(loadAndClose()));
+    assertEquals(Map.of("a", "api-a2", "c", "api-c"), keys(loadAndClose()));
+  }
+
+  @Test
+  void editsSurviveReload() throws Exception {
+    writeSnapshot(credential("a", "api-a"), credential("b", "api-b"));
+    CredentialJournal journal = open();
+    List<Credential> loaded = journal.load().get(5, TimeUnit.SECONDS);
+    Credential a = loaded.get(0);
+    a.setKey("api-a2");
+    journal.put(a);
+    journal.delete(loaded.get(1));
+    journal.put(credential("c", "api-c"));
+    journal.close();
+
+    // Birleştirme eşiğine ulaşılmadı; değişiklikler günlükte
+    assertTrue(Files.size(journal()) > 0);
+    assertEquals(Map.of("a", "api-a2", "c", "api-c"), keys(loadAndClose()));
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  void failedWriteIsKeptAndRetried() throws Exception {
+    writeSnapshot(credential("a", "api-a"));
+    CountDownLatch failed = new CountDownLatch(1);
+    CredentialJournal journal = new CredentialJournal(dir, ENV, objectMapper, e -> {
+      errors.add(e);
+      failed.countDown();
+    });
+    journal.load().get(5, TimeUnit.SECONDS);
+
+    // Günlük yazılamaz hale gelir
+    Field channelField = CredentialJournal.class.getDeclaredField("channel");
+    channelField.setAccessible(true);
+    ((FileChannel) channelField.get(journal)).close();
+    journal.put(credential("b", "api-b"));
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+    // Günlük tekrar yazılabilir olunca bekleyen düzenleme kapanışta yazılır
+    channelField.set(journal, FileChannel.open(journal(), StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    journal.close();
+    assertEquals(1, errors.size());
+    assertEquals(Map.of("a", "api-a", "b", "api-b"), keys(loadAndClose()));
+  }
+
+  private CredentialJournal open() {
+    return new CredentialJournal(dir, ENV, objectMapper, errors::add);
+  }
+
+  private List<Credential> loadAndClose() throws Exception {
+    CredentialJournal journal = open();
+    try {
+      return journal.load().get(5, TimeUnit.SECONDS);
+    } finally {
+      journal.close();
+    }
+  }
+
+  private Path snapshot() {
+    return dir.resolve(ENV + ".json");
+  }
+
+  private Path journal() {
+    return dir.resolve(ENV + ".journal");
+  }
+
+  private static Credential credential(String id, String key) {
+    Credential credential = new Credential(ENV, key, "http://" + key, "user", "secret");
+    credential.setId(id);
+    return credential;
+  }
+
+  private void writeSnapshot(Credential... credentials) throws IOException {
+    objectMapper.writeValue(snapshot().toFile(), List.of(credentials));
+  }
+
+  private List<Credential> readSnapshot() throws IOException {
+    return List.of(objectMapper.readValue(snapshot().toFile(), Credential[].class));
+  }
+
+  private void writeJournal(CredentialJournal.Record... records) throws IOException {
+    StringBuilder lines = new StringBuilder();
+    for (CredentialJournal.Record record : records) {
+      lines.append(objectMapper.writeValueAsString(record)).append('\n');
+    }
+    Files.writeString(journal(), lines, StandardCharsets.UTF_8);
+  }
+
+  private static CredentialJournal.Record put(Credential credential) {
+    CredentialJournal.Record record = new CredentialJournal.Record();
+    record.op = "put";
+    record.credential = credential;
+    return record;
+  }
+
+  private static CredentialJournal.Record delete(String id) {
+    CredentialJournal.Record record = new CredentialJournal.Record();
+    record.op = "delete";
+    record.id = id;
+    return record;
+  }
+
+  // id -> key
+  private static Map<String, String> keys(List<Credential> credentials) {
+    Map<String, String> keys = new TreeMap<>();
+    for (Credential credential : credentials) {
+      keys.put(credential.getId(), credential.getKey());
+    }
+    return keys;
+  }
+}
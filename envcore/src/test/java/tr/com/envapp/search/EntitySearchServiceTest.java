@@ -0,0 +1,54 @@
+package tr.com.envapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * EntitySearchService'in kök dizine göre proje/yol hesaplaması
+ */
+class EntitySearchServiceTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void relativeBasePathKeepsProjectNames() throws IOException {
+        write("order-api/src/main/java/tr/order/CustomerEntity.java", "public class CustomerEntity {}");
+        write("billing-api/src/main/java/tr/billing/Invoice.java", "CustomerEntity customer;");
+
+        String relative = Path.of("").toAbsolutePath().relativize(root).toString();
+        List<String> expected = List.of(
+            "billing-api:src/main/java/tr/billing/Invoice.java",
+            "order-api:src/main/java/tr/order/CustomerEntity.java");
+        assertEquals(expected, projects(root.toString()));
+        assertEquals(expected, projects(relative));
+    }
+
+    private void write(String relativePath, String... lines) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    // Sonuçların "proje:proje içindeki yol" hali, sıralı
+    private static List<String> projects(String basePath) {
+        EntitySearchService service = new EntitySearchService();
+        service.setUseResultCache(false);
+        List<String> projects = new ArrayList<>();
+        for (SearchResult result : service.search(basePath, "CustomerEntity")) {
+            projects.add(result.getProjectName() + ":" + result.getRelativePath().replace('\\', '/'));
+        }
+        Collections.sort(projects);
+        return projects;
+    }
+}
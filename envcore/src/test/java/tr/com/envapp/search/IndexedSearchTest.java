@@ -0,0 +1,143 @@
+package tr.com.envapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Index'li aramanın tam taramayla aynı sonuçları vermesi
+ */
+class IndexedSearchTest {
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void createTree() throws IOException {
+        write("order-api/src/main/java/tr/order/CustomerEntity.java",
+            "package tr.order;",
+            "public class CustomerEntity {",
+            "    private Long id = 42L;",
+            "    private String name;",
+            "}");
+        write("order-api/src/main/java/tr/order/OrderService.java",
+            "package tr.order;",
+            "public class OrderService {",
+            "    CustomerEntity customer;",
+            "    int retries = 3;",
+            "}");
+        write("billing-api/src/main/java/tr/billing/Invoice.java",
+            "package tr.billing;",
+            "public class Invoice {",
+            "    String customerEntityId;",
+            "}");
+        write("billing-api/src/main/resources/application.yml",
+            "server:",
+            "  port: 8080");
+    }
+
+    @Test
+    void regexWithoutLiteralIsNotFilteredByIndex() {
+        for (String pattern : List.of("\\d+", "a|b", ".*Entity")) {
+            List<String> expected = search(false, true, false, List.of(pattern));
+            assertFalse(expected.isEmpty(), pattern);
+            assertEquals(expected, search(true, true, false, List.of(pattern)), pattern);
+        }
+        assertNull(TrigramIndex.forBasePath(root.toString()).candidates(List.of()));
+    }
+
+    @Test
+    void indexedSearchMatchesFullScan() {
+        assertEquivalent();
+    }
+
+    @Test
+    void indexedSearchMatchesFullScanAfterChanges() throws IOException {
+        assertEquivalent();
+
+        // Index kurulduktan sonra dosya değişir, silinir ve eklenir
+        Path service = root.resolve("order-api/src/main/java/tr/order/OrderService.java");
+        write("order-api/src/main/java/tr/order/OrderService.java",
+            "package tr.order;",
+            "public class OrderService {",
+            "    ShipmentEntity shipment;",
+            "    int retries = 5;",
+            "}");
+        Files.setLastModifiedTime(service, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        Files.delete(root.resolve("billing-api/src/main/java/tr/billing/Invoice.java"));
+        write("billing-api/src/main/java/tr/billing/Refund.java",
+            "package tr.billing;",
+            "public class Refund {",
+            "    String customerEntityId;",
+            "}");
+
+        // Yenilenmemiş index: değişen dosyalar boyut/tarih kontrolüyle yine taranmalı
+        assertEquivalent();
+
+        // Diskten yeni yüklenmiş gibi: arama önce index'i dosya sistemiyle karşılaştırır
+        TrigramIndex index = TrigramIndex.forBasePath(root.toString());
+        index.setRefreshed(false);
+        assertEquivalent();
+        assertTrue(index.isRefreshed());
+        assertTrue(index.isUpToDate(service.toFile()));
+        assertFalse(index.getIndexedPaths().contains(
+            root.resolve("billing-api/src/main/java/tr/billing/Invoice.java").toString()));
+    }
+
+    /**
+     * Düz, çok terimli, tam kelime ve regex sorgularının index'li ve index'siz sonuçları aynı olmalı
+     */
+    private void assertEquivalent() {
+        List<List<String>> plain = List.of(
+            List.of("CustomerEntity"), List.of("customer"), List.of("Shipment"), List.of("Refund"),
+            List.of("id"), List.of("Invoice", "OrderService", "port"));
+        for (List<String> terms : plain) {
+            assertEquals(search(false, false, false, terms), search(true, false, false, terms), terms.toString());
+            assertEquals(search(false, false, true, terms), search(true, false, true, terms), "word " + terms);
+        }
+        List<List<String>> regex = List.of(
+            List.of("Customer\\w+Id"), List.of("retries = \\d"), List.of("class (Order|Refund)\\w*"),
+            List.of("\\d+|Entity"));
+        for (List<String> terms : regex) {
+            assertEquals(search(false, true, false, terms), search(true, true, false, terms), "regex " + terms);
+        }
+    }
+
+    private void write(String relativePath, String... lines) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Aramanın sonuçları, sırası karşılaştırmayı etkilemesin diye sıralanmış olarak
+     */
+    private List<String> search(boolean useIndex, boolean regex, boolean wholeWord, List<String> terms) {
+        EntitySearchService service = new EntitySearchService();
+        service.setUseIndex(useIndex);
+        service.setRegex(regex);
+        service.setWholeWord(wholeWord);
+        service.setUseResultCache(false);
+        List<String> results = new ArrayList<>();
+        for (SearchResult result : service.search(root.toString(), terms, "*", null)) {
+            results.add(result.getFilePath() + ":" + result.getLineNumber() + ":" + result.getMatchedTerm()
+                + ":" + result.getLineContent());
+        }
+        Collections.sort(results);
+        return results;
+    }
+}
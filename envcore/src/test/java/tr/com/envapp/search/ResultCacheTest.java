@@ -0,0 +1,133 @@
+package tr.com.envapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Önbellekten cevaplanan aramaların, ağaç değiştikten sonra da tam taramayla aynı sonuçları vermesi
+ */
+class ResultCacheTest {
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void createTree() throws IOException {
+        EntitySearchService.clearResultCache();
+        write("order-api/src/main/java/tr/order/CustomerEntity.java",
+            "public class CustomerEntity {",
+            "    private Long id;",
+            "}");
+        write("order-api/src/main/java/tr/order/OrderService.java",
+            "public class OrderService {",
+            "    CustomerEntity customer;",
+            "}");
+        write("billing-api/src/main/java/tr/billing/Invoice.java",
+            "public class Invoice {",
+            "    String number;",
+            "}");
+    }
+
+    @AfterEach
+    void clearCache() {
+        EntitySearchService.clearResultCache();
+    }
+
+    @Test
+    void repeatedSearchMatchesFullScan() {
+        assertCachedEquals(List.of("CustomerEntity"));
+        assertCachedEquals(List.of("CustomerEntity"));
+    }
+
+    @Test
+    void fileEditedInPlaceIsScannedAgain() throws IOException {
+        assertCachedEquals(List.of("Customer"));
+
+        // Aynı boyutta içerik: yalnızca değişiklik zamanı farklı
+        Path invoice = write("billing-api/src/main/java/tr/billing/Invoice.java",
+            "public class Invoice {",
+            "    Customer numb;",
+            "}");
+        Files.setLastModifiedTime(invoice, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertCachedEquals(List.of("Customer"));
+    }
+
+    @Test
+    void addedAndRemovedFilesChangeFileCount() throws IOException {
+        assertCachedEquals(List.of("CustomerEntity"));
+
+        write("billing-api/src/main/java/tr/billing/Refund.java", "public class Refund {}");
+        assertEquals(4, cachedFileCount(List.of("CustomerEntity")));
+        assertCachedEquals(List.of("CustomerEntity"));
+
+        Files.delete(root.resolve("order-api/src/main/java/tr/order/OrderService.java"));
+        assertEquals(3, cachedFileCount(List.of("CustomerEntity")));
+        assertCachedEquals(List.of("CustomerEntity"));
+    }
+
+    @Test
+    void narrowedSearchMatchesFullScan() throws IOException {
+        assertCachedEquals(List.of("Customer"));
+        assertCachedEquals(List.of("CustomerEnt"));
+        assertCachedEquals(List.of("CustomerEntity"));
+
+        // Geniş sorguda sonuç vermeyen dosya artık daraltılmış sorguyla eşleşiyor
+        Path invoice = write("billing-api/src/main/java/tr/billing/Invoice.java",
+            "public class Invoice {",
+            "    CustomerEntity owner;",
+            "}");
+        Files.setLastModifiedTime(invoice, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertCachedEquals(List.of("Customer"));
+        write("order-api/src/main/java/tr/order/Order.java", "CustomerEntity buyer;");
+        assertCachedEquals(List.of("CustomerEnti"));
+    }
+
+    private void assertCachedEquals(List<String> terms) {
+        List<String> expected = search(false, terms);
+        assertFalse(expected.isEmpty(), terms.toString());
+        assertEquals(expected, search(true, terms), terms.toString());
+    }
+
+    private Path write(String relativePath, String... lines) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<String> search(boolean useResultCache, List<String> terms) {
+        EntitySearchService service = new EntitySearchService();
+        service.setUseResultCache(useResultCache);
+        List<String> results = new ArrayList<>();
+        for (SearchResult result : service.search(root.toString(), terms, "*", null)) {
+            results.add(result.getFilePath() + ":" + result.getLineNumber() + ":" + result.getMatchedTerm()
+                + ":" + result.getLineContent());
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+    // Önbellekli aramanın son ilerleme bildirimindeki taranan dosya sayısı
+    private int cachedFileCount(List<String> terms) {
+        EntitySearchService service = new EntitySearchService();
+        AtomicReference<SearchProgress> last = new AtomicReference<>();
+        service.setProgressListener(last::set);
+        service.search(root.toString(), terms, "*", null);
+        return last.get().getFilesScanned();
+    }
+}